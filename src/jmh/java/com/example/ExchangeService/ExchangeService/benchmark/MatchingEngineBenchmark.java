@@ -0,0 +1,95 @@
+package com.example.ExchangeService.ExchangeService.benchmark;
+
+import com.example.ExchangeService.ExchangeService.enums.OrderSide;
+import com.example.ExchangeService.ExchangeService.enums.OrderType;
+import com.example.ExchangeService.ExchangeService.events.OrderPlacedEvent;
+import com.example.ExchangeService.ExchangeService.persistence.InMemoryEnginePersistence;
+import com.example.ExchangeService.ExchangeService.replay.DiscardingKafkaTemplate;
+import com.example.ExchangeService.ExchangeService.service.DropCopyService;
+import com.example.ExchangeService.ExchangeService.service.EngineEventBus;
+import com.example.ExchangeService.ExchangeService.service.EngineStageMetrics;
+import com.example.ExchangeService.ExchangeService.service.ExecutionEventService;
+import com.example.ExchangeService.ExchangeService.service.MarketDataService;
+import com.example.ExchangeService.ExchangeService.service.MatchingEngineService;
+import com.example.ExchangeService.ExchangeService.service.OrderBookMetrics;
+import com.example.ExchangeService.ExchangeService.service.OrderStatusService;
+import com.example.ExchangeService.ExchangeService.utils.EngineClock;
+import com.example.ExchangeService.ExchangeService.utils.InstrumentRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Full MatchingEngineService.process path (matching, persistence, market data, fan-out) with the
+// in-memory persistence and a Kafka template that drops every record
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MatchingEngineBenchmark {
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private InMemoryEnginePersistence persistence;
+    private EngineEventBus engineEventBus;
+    private MatchingEngineService engine;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void createEngine() throws IOException {
+        KafkaTemplate<String, Object> kafka = new DiscardingKafkaTemplate();
+        persistence = new InMemoryEnginePersistence();
+        // Production instrument settings, so every order pays for the same tick, lot and band checks
+        InstrumentRegistry instrumentRegistry = InstrumentRegistry.fromProperties(
+                InstrumentRegistry.loadConfig(new ClassPathResource("application.yml")));
+        engineEventBus = new EngineEventBus(instrumentRegistry, 65_536, 256);
+        EngineClock engineClock = new EngineClock();
+        engine = new MatchingEngineService(persistence, new ExecutionEventService(kafka, engineClock),
+                new MarketDataService(kafka, 20, engineClock, instrumentRegistry), new OrderBookMetrics(new SimpleMeterRegistry()),
+                engineEventBus, new DropCopyService(256, 1_024, 100_000), List.of(),
+                new OrderStatusService(persistence, 100_000, engineClock),
+                new EngineStageMetrics(new SimpleMeterRegistry(), 1_000), engineClock,
+                instrumentRegistry);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearStore() {
+        persistence.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        engineEventBus.shutdown();
+    }
+
+    // Limit orders around a fixed mid: roughly half rest, half cross
+    @Benchmark
+    public void process() {
+        OrderPlacedEvent event = new OrderPlacedEvent();
+        event.setOrderId(String.valueOf(++nextId));
+        event.setUserId("user" + (nextId % 100));
+        event.setSymbol("AAPL");
+        event.setSide(random.nextBoolean() ? OrderSide.BUY : OrderSide.SELL);
+        event.setType(OrderType.LIMIT);
+        event.setQuantity(1 + random.nextInt(100));
+        event.setPrice(100.0 + (random.nextInt(21) - 10) / 100.0);
+        engine.process("bench-" + nextId, event);
+    }
+}
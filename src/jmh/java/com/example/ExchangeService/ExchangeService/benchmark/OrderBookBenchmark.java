@@ -0,0 +1,195 @@
+package com.example.ExchangeService.ExchangeService.benchmark;
+
+import com.example.ExchangeService.ExchangeService.entities.Order;
+import com.example.ExchangeService.ExchangeService.enums.OrderSide;
+import com.example.ExchangeService.ExchangeService.enums.OrderType;
+import com.example.ExchangeService.ExchangeService.utils.OrderBook;
+import com.example.ExchangeService.ExchangeService.utils.TradeResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// OrderBook.addOrder under typical order mixes. Every operation removes what it rests and puts
+// back any liquidity it consumes, so the book keeps its size for the whole iteration. Cancel is a
+// linear scan of one side, so only cancelReplace pays for it inside the measurement.
+// Run with: mvn -Pjmh test-compile exec:exec -Djmh.args="OrderBookBenchmark -prof gc"
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderBookBenchmark {
+
+    private static final int LEVELS = 100;           // price levels per side
+    private static final BigDecimal MID = new BigDecimal("100.00");
+    private static final BigDecimal TICK = new BigDecimal("0.01");
+    private static final int PASSIVE_BATCH = 1_000;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int restingOrders;
+
+    private final BigDecimal[] bidPrices = new BigDecimal[LEVELS];
+    private final BigDecimal[] askPrices = new BigDecimal[LEVELS];
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private OrderBook book;
+    private String[] restingIds;
+    private long nextId;
+
+    @Setup(Level.Iteration)
+    public void buildBook() {
+        for (int level = 0; level < LEVELS; level++) {
+            bidPrices[level] = MID.subtract(TICK.multiply(BigDecimal.valueOf(level + 1)));
+            askPrices[level] = MID.add(TICK.multiply(BigDecimal.valueOf(level + 1)));
+        }
+        book = new OrderBook();
+        restingIds = new String[restingOrders];
+        for (int i = 0; i < restingOrders; i++) {
+            OrderSide side = i % 2 == 0 ? OrderSide.BUY : OrderSide.SELL;
+            BigDecimal price = side == OrderSide.BUY ? bidPrices[(i / 2) % LEVELS] : askPrices[(i / 2) % LEVELS];
+            Order order = limit(side, 100, price);
+            restingIds[i] = order.getOrderId();
+            book.addOrder(order);
+        }
+        book.getDepth().drainChanges();
+    }
+
+    // Bids rested by one passiveAdd call, taken out again after the call in one pass over the bids
+    @State(Scope.Thread)
+    public static class PassiveBatch {
+
+        private OrderBook book;
+        private long firstId;
+
+        @TearDown(Level.Invocation)
+        public void removeBatch() {
+            book.getBuyOrders().removeIf(order -> {
+                if (order.getId() < firstId) return false;
+                book.getDepth().reduce(OrderSide.BUY, order.getRawPrice(), order.getQuantity());
+                return true;
+            });
+        }
+    }
+
+    // Rests a batch of bids below the ask; scored per add, with the clean-up outside the measurement
+    @Benchmark
+    @OperationsPerInvocation(PASSIVE_BATCH)
+    public void passiveAdd(PassiveBatch batch, Blackhole blackhole) {
+        batch.book = book;
+        batch.firstId = nextId + 1;
+        for (int i = 0; i < PASSIVE_BATCH; i++) {
+            blackhole.consume(book.addOrder(limit(OrderSide.BUY, 100, bidPrices[random.nextInt(LEVELS)])));
+        }
+    }
+
+    // Aggressive sell walking down the bid levels, then the taken bids are put back
+    @Benchmark
+    public List<TradeResult> aggressiveSweep() {
+        List<TradeResult> results = book.addOrder(limit(OrderSide.SELL, 1_000, bidPrices[LEVELS - 1]));
+        replenishBids(results);
+        return results;
+    }
+
+    // A trade at the best bid triggers ten resting sell stops that hit the book in turn
+    @Benchmark
+    public List<TradeResult> stopCascade() {
+        BigDecimal trigger = book.getDepth().getBest(OrderSide.BUY) != null
+                ? book.getDepth().getBest(OrderSide.BUY).getKey() : bidPrices[0];
+        for (int i = 0; i < 10; i++) {
+            Order stop = order(OrderSide.SELL, OrderType.STOP_MARKET, 10, null);
+            stop.setStopPrice(trigger);
+            book.addOrder(stop);
+        }
+        List<TradeResult> results = book.addOrder(limit(OrderSide.SELL, 100, trigger));
+        replenishBids(results);
+        return results;
+    }
+
+    // Cancels a random resting order and rests a replacement at the same price; dominated by the
+    // linear cancel scan on large books
+    @Benchmark
+    public List<TradeResult> cancelReplace() {
+        int slot = random.nextInt(restingOrders);
+        Order cancelled = book.cancelOrder(restingIds[slot]);
+        if (cancelled == null) {
+            return List.of();
+        }
+        Order replacement = limit(cancelled.getOrderSide(), 100, cancelled.getPrice());
+        restingIds[slot] = replacement.getOrderId();
+        return book.addOrder(replacement);
+    }
+
+    // Market orders parked without opposite liquidity are re-run on every addOrder
+    @State(Scope.Thread)
+    public static class WaitingQueue {
+
+        @Param({"100", "10000"})
+        private int waitingMarketOrders;
+
+        private OrderBook book;
+        private long nextId;
+
+        @Setup(Level.Iteration)
+        public void buildBook() {
+            book = new OrderBook();
+            for (int i = 0; i < waitingMarketOrders; i++) {
+                book.addOrder(Order.builder()
+                        .orderId(String.valueOf(++nextId)).userId("u").instrumentId("BENCH")
+                        .orderSide(OrderSide.BUY).orderType(OrderType.MARKET).quantity(100)
+                        .timeStamp(Instant.now()).build());
+            }
+        }
+    }
+
+    @Benchmark
+    public Order marketWaitingQueue(WaitingQueue state) {
+        String orderId = String.valueOf(++state.nextId);
+        state.book.addOrder(Order.builder()
+                .orderId(orderId).userId("u").instrumentId("BENCH")
+                .orderSide(OrderSide.BUY).orderType(OrderType.LIMIT).quantity(100).price(MID)
+                .timeStamp(Instant.now()).build());
+        return state.book.cancelOrder(orderId);
+    }
+
+    private void replenishBids(List<TradeResult> results) {
+        for (TradeResult result : results) {
+            book.addOrder(limit(OrderSide.BUY, result.getExecution().getQuantity().intValue(), result.getExecution().getPrice()));
+        }
+    }
+
+    private Order limit(OrderSide side, int quantity, BigDecimal price) {
+        return order(side, OrderType.LIMIT, quantity, price);
+    }
+
+    private Order order(OrderSide side, OrderType type, int quantity, BigDecimal price) {
+        return Order.builder()
+                .orderId(String.valueOf(++nextId))
+                .userId("bench")
+                .instrumentId("BENCH")
+                .orderSide(side)
+                .orderType(type)
+                .quantity(quantity)
+                .price(price)
+                .timeStamp(Instant.now())
+                .build();
+    }
+}
@@ -1,8 +1,39 @@
 package com.example.ExchangeService.ExchangeService.Repositories;
 
 import com.example.ExchangeService.ExchangeService.entities.Execution;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+// History pages are keyset (seek) queries, newest first: each page starts strictly after the
+// (executedAt, id) of the previous page's last row, so the cost does not grow with the page number
 @Repository
-public interface ExecutionRepository extends JpaRepository<Execution, Long> {}
\ No newline at end of file
+public interface ExecutionRepository extends JpaRepository<Execution, Long> {
+
+    @Query("select e.id as id, e.orderId as orderId, e.counterOrderId as counterOrderId, e.userId as userId, " +
+            "e.instrumentSymbol as instrumentSymbol, e.side as side, e.quantity as quantity, e.price as price, " +
+            "e.executedAt as executedAt from Execution e " +
+            "where e.userId = :userId " +
+            "and (e.executedAt < :executedAt or (e.executedAt = :executedAt and e.id < :id)) " +
+            "order by e.executedAt desc, e.id desc")
+    List<ExecutionView> findPageByUser(@Param("userId") String userId,
+                                       @Param("executedAt") LocalDateTime executedAt,
+                                       @Param("id") long id,
+                                       Limit limit);
+
+    @Query("select e.id as id, e.orderId as orderId, e.counterOrderId as counterOrderId, e.userId as userId, " +
+            "e.instrumentSymbol as instrumentSymbol, e.side as side, e.quantity as quantity, e.price as price, " +
+            "e.executedAt as executedAt from Execution e " +
+            "where e.instrumentSymbol = :symbol " +
+            "and (e.executedAt < :executedAt or (e.executedAt = :executedAt and e.id < :id)) " +
+            "order by e.executedAt desc, e.id desc")
+    List<ExecutionView> findPageBySymbol(@Param("symbol") String symbol,
+                                         @Param("executedAt") LocalDateTime executedAt,
+                                         @Param("id") long id,
+                                         Limit limit);
+}
@@ -0,0 +1,17 @@
+package com.example.ExchangeService.ExchangeService.Repositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Closed projection for history queries: only these columns are selected, no entity is managed
+public interface ExecutionView {
+    Long getId();
+    Long getOrderId();
+    Long getCounterOrderId();
+    String getUserId();
+    String getInstrumentSymbol();
+    String getSide();
+    BigDecimal getQuantity();
+    BigDecimal getPrice();
+    LocalDateTime getExecutedAt();
+}
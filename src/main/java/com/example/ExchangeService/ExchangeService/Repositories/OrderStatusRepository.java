@@ -1,8 +1,27 @@
 package com.example.ExchangeService.ExchangeService.Repositories;
 
 import com.example.ExchangeService.ExchangeService.entities.OrderStatus;
+import com.example.ExchangeService.ExchangeService.enums.OrderStatusE;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+
 @Repository
-public interface OrderStatusRepository extends JpaRepository<OrderStatus, Long> {}
\ No newline at end of file
+public interface OrderStatusRepository extends JpaRepository<OrderStatus, Long> {
+
+    // Keyset page of orders in one status, most recently updated first
+    @Query("select s.orderId as orderId, s.status as status, s.filledQuantity as filledQuantity, " +
+            "s.updatedAt as updatedAt from OrderStatus s " +
+            "where s.status = :status " +
+            "and (s.updatedAt < :updatedAt or (s.updatedAt = :updatedAt and s.orderId < :orderId)) " +
+            "order by s.updatedAt desc, s.orderId desc")
+    List<OrderStatusView> findPageByStatus(@Param("status") OrderStatusE status,
+                                           @Param("updatedAt") Instant updatedAt,
+                                           @Param("orderId") long orderId,
+                                           Limit limit);
+}
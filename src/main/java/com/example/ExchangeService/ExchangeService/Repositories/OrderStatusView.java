@@ -0,0 +1,13 @@
+package com.example.ExchangeService.ExchangeService.Repositories;
+
+import com.example.ExchangeService.ExchangeService.enums.OrderStatusE;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public interface OrderStatusView {
+    Long getOrderId();
+    OrderStatusE getStatus();
+    BigDecimal getFilledQuantity();
+    Instant getUpdatedAt();
+}
@@ -0,0 +1,20 @@
+package com.example.ExchangeService.ExchangeService.config;
+
+import com.example.ExchangeService.ExchangeService.service.OrdersEventConsumer;
+import com.example.ExchangeService.ExchangeService.service.StartupReportService;
+import com.example.ExchangeService.ExchangeService.service.WarmupService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+    // With spring.main.lazy-initialization (engine profile) nothing would pull these in,
+    // yet they are what starts consumption, so they are always built eagerly
+    @Bean
+    static LazyInitializationExcludeFilter eagerEngineBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                OrdersEventConsumer.class, WarmupService.class, StartupReportService.class);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.ExchangeService.ExchangeService.controller;
+
+import com.example.ExchangeService.ExchangeService.service.FlightRecordingService;
+import com.example.ExchangeService.ExchangeService.service.OrderBookDumpService;
+import com.example.ExchangeService.ExchangeService.service.OrderCaptureService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final OrderBookDumpService dumpService;
+    private final FlightRecordingService flightRecordingService;
+    private final OrderCaptureService captureService;
+
+    @PostMapping("/books/{symbol}/dump")
+    public ResponseEntity<Map<String, String>> dumpOrderBook(@PathVariable String symbol) {
+        Path file = dumpService.requestDump(symbol);
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.accepted().body(Map.of("symbol", symbol, "file", file.toString()));
+    }
+
+    @PostMapping("/jfr")
+    public ResponseEntity<Map<String, Object>> startRecording(
+            @RequestParam(defaultValue = "60") long durationSeconds,
+            @RequestParam(defaultValue = "profile") String settings) throws IOException {
+        try {
+            return ResponseEntity.accepted().body(
+                    flightRecordingService.start(Duration.ofSeconds(durationSeconds), settings));
+        } catch (IllegalArgumentException | ParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    @GetMapping("/jfr")
+    public List<Map<String, Object>> listRecordings() {
+        return flightRecordingService.list();
+    }
+
+    @PostMapping("/jfr/{id}/dump")
+    public ResponseEntity<Map<String, String>> dumpRecording(@PathVariable long id) throws IOException {
+        Path file = flightRecordingService.dump(id);
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(Map.of("id", String.valueOf(id), "file", file.toString()));
+    }
+
+    @DeleteMapping("/jfr/{id}")
+    public ResponseEntity<Map<String, Object>> stopRecording(@PathVariable long id) {
+        Map<String, Object> stopped = flightRecordingService.stop(id);
+        return stopped == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(stopped);
+    }
+
+    @PostMapping("/capture/start")
+    public Map<String, Object> startCapture() throws IOException {
+        return captureService.start();
+    }
+
+    @PostMapping("/capture/stop")
+    public Map<String, Object> stopCapture() throws IOException {
+        return captureService.stop();
+    }
+
+    @GetMapping("/capture")
+    public Map<String, Object> captureStatus() {
+        return captureService.describe();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.ExchangeService.ExchangeService.controller;
+
+import com.example.ExchangeService.ExchangeService.service.MarketDataService;
+import com.example.ExchangeService.ExchangeService.utils.BookSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Serves the immutable snapshots published by the matching thread; never touches a live OrderBook
+@RestController
+@RequestMapping("/api/books")
+@RequiredArgsConstructor
+public class BookController {
+
+    private final MarketDataService marketDataService;
+
+    @GetMapping
+    public List<BookSnapshot> getTopOfBooks() {
+        return marketDataService.getSnapshots().stream()
+                .map(snapshot -> snapshot.limitDepth(0))
+                .collect(Collectors.toList());
+    }
+
+    @GetMapping("/{symbol}")
+    public ResponseEntity<BookSnapshot> getBook(@PathVariable String symbol,
+                                                @RequestParam(defaultValue = "10") int depth) {
+        BookSnapshot snapshot = marketDataService.getSnapshot(symbol);
+        if (snapshot == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(snapshot.limitDepth(Math.max(depth, 0)));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.ExchangeService.ExchangeService.controller;
+
+import com.example.ExchangeService.ExchangeService.enums.CandleInterval;
+import com.example.ExchangeService.ExchangeService.events.Candle;
+import com.example.ExchangeService.ExchangeService.service.CandleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/candles")
+@RequiredArgsConstructor
+public class CandleController {
+
+    private final CandleService candleService;
+
+    @GetMapping("/{symbol}")
+    public List<Candle> getCandles(@PathVariable String symbol,
+                                   @RequestParam(defaultValue = "1m") String interval,
+                                   @RequestParam(defaultValue = "0") long from,
+                                   @RequestParam(defaultValue = "" + Long.MAX_VALUE) long to,
+                                   @RequestParam(defaultValue = "500") int limit) {
+        return candleService.getCandles(symbol, CandleInterval.fromLabel(interval), from, to, limit);
+    }
+
+    @GetMapping(value = "/{symbol}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Candle>> streamClosedBars(@PathVariable String symbol,
+                                                          @RequestParam(defaultValue = "1m") String interval) {
+        return candleService.closedBars(symbol, CandleInterval.fromLabel(interval))
+                .map(bar -> ServerSentEvent.builder(bar).event("candle").build());
+    }
+}
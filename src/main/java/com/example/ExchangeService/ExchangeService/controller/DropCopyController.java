@@ -0,0 +1,30 @@
+package com.example.ExchangeService.ExchangeService.controller;
+
+import com.example.ExchangeService.ExchangeService.events.ExecutionReport;
+import com.example.ExchangeService.ExchangeService.service.DropCopyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+// Per-user execution stream. Event ids are "<epoch>:<sequence>", so the browser's Last-Event-ID
+// resumes exactly where it left off after a reconnect, or gets a "reset" event when it cannot.
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class DropCopyController {
+
+    private final DropCopyService dropCopyService;
+
+    @GetMapping(value = "/{userId}/executions/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ExecutionReport>> streamExecutions(
+            @PathVariable String userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return dropCopyService.stream(userId, lastEventId);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.ExchangeService.ExchangeService.controller;
+
+import com.example.ExchangeService.ExchangeService.Repositories.ExecutionView;
+import com.example.ExchangeService.ExchangeService.Repositories.OrderStatusView;
+import com.example.ExchangeService.ExchangeService.enums.OrderStatusE;
+import com.example.ExchangeService.ExchangeService.events.KeysetPage;
+import com.example.ExchangeService.ExchangeService.service.HistoryQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.format.DateTimeParseException;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class HistoryController {
+
+    private final HistoryQueryService historyQueryService;
+
+    @GetMapping("/users/{userId}/executions")
+    public KeysetPage<ExecutionView> getUserExecutions(@PathVariable String userId,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "100") int limit) {
+        return historyQueryService.getExecutionsByUser(userId, cursor, limit);
+    }
+
+    @GetMapping("/symbols/{symbol}/executions")
+    public KeysetPage<ExecutionView> getSymbolExecutions(@PathVariable String symbol,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "100") int limit) {
+        return historyQueryService.getExecutionsBySymbol(symbol, cursor, limit);
+    }
+
+    @GetMapping("/orders")
+    public KeysetPage<OrderStatusView> getOrdersByStatus(@RequestParam OrderStatusE status,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "100") int limit) {
+        return historyQueryService.getOrdersByStatus(status, cursor, limit);
+    }
+
+    @ExceptionHandler({IllegalArgumentException.class, DateTimeParseException.class})
+    public ResponseEntity<String> badCursor(RuntimeException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
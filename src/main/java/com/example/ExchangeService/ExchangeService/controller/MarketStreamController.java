@@ -0,0 +1,45 @@
+package com.example.ExchangeService.ExchangeService.controller;
+
+import com.example.ExchangeService.ExchangeService.service.EngineEventBus;
+import com.example.ExchangeService.ExchangeService.utils.InstrumentRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+// Live internal prints and BBO per symbol, fed from the engine event bus. Only registered
+// instruments are served, so arbitrary symbols in the path cannot open streams.
+@RestController
+@RequestMapping("/api/market")
+@RequiredArgsConstructor
+public class MarketStreamController {
+
+    private final EngineEventBus engineEventBus;
+    private final InstrumentRegistry instrumentRegistry;
+
+    @GetMapping(value = "/{symbol}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<Object>>> stream(@PathVariable String symbol) {
+        if (instrumentRegistry.find(symbol) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Flux<ServerSentEvent<Object>> trades = engineEventBus.trades(symbol)
+                .map(tick -> ServerSentEvent.<Object>builder(tick).event("trade").build());
+        Flux<ServerSentEvent<Object>> topOfBook = engineEventBus.topOfBook(symbol)
+                .map(bbo -> ServerSentEvent.<Object>builder(bbo).event("bbo").id(String.valueOf(bbo.getVersion())).build());
+        return ResponseEntity.ok(Flux.merge(trades, topOfBook));
+    }
+
+    @GetMapping(value = "/{symbol}/trades", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<Object>>> trades(@PathVariable String symbol) {
+        if (instrumentRegistry.find(symbol) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(engineEventBus.trades(symbol)
+                .map(tick -> ServerSentEvent.<Object>builder(tick).event("trade").build()));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.ExchangeService.ExchangeService.controller;
+
+import com.example.ExchangeService.ExchangeService.events.OrderState;
+import com.example.ExchangeService.ExchangeService.service.OrderStatusService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+public class OrderStatusController {
+
+    private static final int MAX_BATCH = 1000;
+
+    private final OrderStatusService orderStatusService;
+
+    @GetMapping("/{orderId}/status")
+    public ResponseEntity<OrderState> getStatus(@PathVariable String orderId) {
+        OrderState state = orderStatusService.getStatus(orderId);
+        if (state == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(state);
+    }
+
+    // Batch lookup: body is a JSON array of order ids
+    @PostMapping("/status")
+    public ResponseEntity<List<OrderState>> getStatuses(@RequestBody List<String> orderIds) {
+        if (orderIds.size() > MAX_BATCH) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(orderStatusService.getStatuses(new LinkedHashSet<>(orderIds)));
+    }
+}
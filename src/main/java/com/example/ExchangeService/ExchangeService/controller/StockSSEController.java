@@ -1,56 +1,77 @@
 package com.example.ExchangeService.ExchangeService.controller;
 
-import com.example.ExchangeService.ExchangeService.service.FinnhubService;
-import org.springframework.beans.factory.annotation.Value;
+import com.example.ExchangeService.ExchangeService.service.QuoteService;
+import com.example.ExchangeService.ExchangeService.service.QuoteStreamService;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.util.Arrays;
-import java.util.HashMap;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/stocks")
 public class StockSSEController {
 
-    private final FinnhubService finnhubService;
-    private final List<String> symbols;
+    private final QuoteStreamService quoteStreamService;
+    private final QuoteService quoteService;
 
-    public StockSSEController(FinnhubService finnhubService,
-                              @Value("${stocks.symbols}") String symbolsStr) {
-        this.finnhubService = finnhubService;
-        this.symbols = Arrays.stream(symbolsStr.split(","))
-                .map(String::trim)
-                .collect(Collectors.toList());
+    public StockSSEController(QuoteStreamService quoteStreamService, QuoteService quoteService) {
+        this.quoteStreamService = quoteStreamService;
+        this.quoteService = quoteService;
+    }
+
+    @GetMapping(value = "/quote/{symbol}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<String> getQuote(@PathVariable String symbol) {
+        return quoteService.getQuote(symbol);
+    }
+
+    @GetMapping("/quotes")
+    public Mono<Map<String, String>> getQuotes(@RequestParam(required = false) List<String> symbols) {
+        return quoteService.getQuotes(symbols != null ? symbols : quoteStreamService.getSymbols());
     }
 
     @GetMapping("/quote/stream")
     public SseEmitter streamStockQuotes() {
-        SseEmitter emitter = new SseEmitter(Long.MAX_VALUE);
-
-        Executors.newSingleThreadExecutor().submit(() -> {
-            try {
-                while (true) {
-                    Map<String, Object> quotesMap = new HashMap<>();
-                    // Fetch quotes for all predefined symbols
-                    for (String symbol : symbols) {
-                        String quoteJson = finnhubService.getStockQuote(symbol).block();
-                        quotesMap.put(symbol, quoteJson);
-                    }
-                    // Send all quotes as a single SSE event
-                    emitter.send(quotesMap, MediaType.APPLICATION_JSON);
-                    Thread.sleep(5000); // update every 5 seconds
-                }
-            } catch (Exception e) {
-                emitter.completeWithError(e);
-            }
-        });
+        return attach(new SseEmitter(Long.MAX_VALUE));
+    }
+
+    // Every client attaches to the same upstream poll, but sends from its own worker through a
+    // one-element latest-wins buffer: a stalled socket skips quotes instead of holding up the poll
+    SseEmitter attach(SseEmitter emitter) {
+        Disposable subscription = quoteStreamService.getQuotes()
+                .onBackpressureLatest()
+                .publishOn(Schedulers.boundedElastic(), 1)
+                .subscribe(
+                        quotesMap -> {
+                            try {
+                                emitter.send(quotesMap, MediaType.APPLICATION_JSON);
+                            } catch (IOException | IllegalStateException e) {
+                                emitter.completeWithError(e);
+                            }
+                        },
+                        emitter::completeWithError);
+
+        emitter.onCompletion(subscription::dispose);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(e -> subscription.dispose());
         return emitter;
     }
+
+    // Non-blocking variant: keyframes plus changed symbols only, optionally for a subset of symbols
+    @GetMapping(value = "/quote/deltas", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Map<String, String>>> streamQuoteDeltas(
+            @RequestParam(required = false) List<String> symbols) {
+        return quoteStreamService.getQuoteDeltas(symbols);
+    }
 }
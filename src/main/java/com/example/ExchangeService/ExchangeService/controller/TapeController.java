@@ -0,0 +1,31 @@
+package com.example.ExchangeService.ExchangeService.controller;
+
+import com.example.ExchangeService.ExchangeService.events.TapeTrade;
+import com.example.ExchangeService.ExchangeService.service.TradeTapeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tape")
+@RequiredArgsConstructor
+public class TapeController {
+
+    private static final int MAX_LIMIT = 100_000;
+
+    private final TradeTapeService tradeTapeService;
+
+    // from/to are epoch millis
+    @GetMapping("/{symbol}")
+    public List<TapeTrade> getTrades(@PathVariable String symbol,
+                                     @RequestParam long from,
+                                     @RequestParam(defaultValue = "" + Long.MAX_VALUE) long to,
+                                     @RequestParam(defaultValue = "1000") int limit) {
+        return tradeTapeService.query(symbol, from, to, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+}
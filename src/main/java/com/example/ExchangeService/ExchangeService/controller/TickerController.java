@@ -0,0 +1,43 @@
+package com.example.ExchangeService.ExchangeService.controller;
+
+import com.example.ExchangeService.ExchangeService.events.Ticker;
+import com.example.ExchangeService.ExchangeService.service.TickerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tickers")
+@RequiredArgsConstructor
+public class TickerController {
+
+    private final TickerService tickerService;
+
+    @GetMapping
+    public List<Ticker> getTickers() {
+        return tickerService.getTickers();
+    }
+
+    @GetMapping("/{symbol}")
+    public ResponseEntity<Ticker> getTicker(@PathVariable String symbol) {
+        Ticker ticker = tickerService.getTicker(symbol);
+        if (ticker == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(ticker);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<List<Ticker>>> streamTickers() {
+        return tickerService.stream()
+                .map(tickers -> ServerSentEvent.builder(tickers).event("tickers").build());
+    }
+}
@@ -11,7 +11,11 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "executions")
+// Composite indexes end in id so keyset pages seek on (key, executed_at, id) without a filesort
+@Table(name = "executions", indexes = {
+        @Index(name = "idx_exec_user_time", columnList = "user_id, executed_at, id"),
+        @Index(name = "idx_exec_symbol_time", columnList = "instrument_symbol, executed_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -2,32 +2,135 @@ package com.example.ExchangeService.ExchangeService.entities;
 
 import com.example.ExchangeService.ExchangeService.enums.OrderSide;
 import com.example.ExchangeService.ExchangeService.enums.OrderType;
-import lombok.AllArgsConstructor;
+import com.example.ExchangeService.ExchangeService.utils.Prices;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 
+// Books hold millions of these, so the state is flat: numeric id, shared user and symbol strings,
+// fixed-point prices (see Prices) and epoch-nanosecond times. The String, BigDecimal and Instant
+// accessors convert on every call and are meant for the edges, not the matching loop.
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
-@Builder
 public class Order {
 
-    private String orderId;
-    private String userId;
-    private String instrumentId;
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private long id;
+    private String userId;        // interned by the engine, one instance per user
+    private String instrumentId;  // the registry's symbol instance
+    private int symbolId;   // InstrumentRegistry id, resolved once at ingress
     private OrderSide orderSide;
     private OrderType orderType;
     private int quantity;
     private int filledQuantity = 0;
-    private BigDecimal price;
-    private BigDecimal stopPrice;
-    private BigDecimal trailingOffset;
+    @ToString.Exclude
+    private long rawPrice = Prices.NONE;
+    @ToString.Exclude
+    private long rawStopPrice = Prices.NONE;
+    @ToString.Exclude
+    private long rawTrailingOffset = Prices.NONE;
     private String trailingType;
     private int displayQuantity;
-    private Instant expiryTime;
-    private Instant timeStamp;
+    @ToString.Exclude
+    private long expiryTimeNanos = NO_TIME;
+    @ToString.Exclude
+    private long timeStampNanos = NO_TIME;
+    private long sequence; // engine input sequence, decides time priority
+
+    @Builder(toBuilder = true)
+    private Order(@Builder.ObtainVia(method = "getOrderId") String orderId, String userId, String instrumentId,
+                  int symbolId, OrderSide orderSide, OrderType orderType, int quantity, int filledQuantity,
+                  @Builder.ObtainVia(method = "getPrice") BigDecimal price,
+                  @Builder.ObtainVia(method = "getStopPrice") BigDecimal stopPrice,
+                  @Builder.ObtainVia(method = "getTrailingOffset") BigDecimal trailingOffset,
+                  String trailingType, int displayQuantity,
+                  @Builder.ObtainVia(method = "getExpiryTime") Instant expiryTime,
+                  @Builder.ObtainVia(method = "getTimeStamp") Instant timeStamp, long sequence) {
+        setOrderId(orderId);
+        this.userId = userId;
+        this.instrumentId = instrumentId;
+        this.symbolId = symbolId;
+        this.orderSide = orderSide;
+        this.orderType = orderType;
+        this.quantity = quantity;
+        this.filledQuantity = filledQuantity;
+        setPrice(price);
+        setStopPrice(stopPrice);
+        setTrailingOffset(trailingOffset);
+        this.trailingType = trailingType;
+        this.displayQuantity = displayQuantity;
+        setExpiryTime(expiryTime);
+        setTimeStamp(timeStamp);
+        this.sequence = sequence;
+    }
+
+    public String getOrderId() {
+        return String.valueOf(id);
+    }
+
+    public void setOrderId(String orderId) {
+        this.id = orderId != null ? Long.parseLong(orderId) : 0;
+    }
+
+    @ToString.Include
+    public BigDecimal getPrice() {
+        return Prices.toBigDecimal(rawPrice);
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.rawPrice = Prices.toRaw(price);
+    }
+
+    public boolean hasPrice() {
+        return rawPrice != Prices.NONE;
+    }
+
+    @ToString.Include
+    public BigDecimal getStopPrice() {
+        return Prices.toBigDecimal(rawStopPrice);
+    }
+
+    public void setStopPrice(BigDecimal stopPrice) {
+        this.rawStopPrice = Prices.toRaw(stopPrice);
+    }
+
+    @ToString.Include
+    public BigDecimal getTrailingOffset() {
+        return Prices.toBigDecimal(rawTrailingOffset);
+    }
+
+    public void setTrailingOffset(BigDecimal trailingOffset) {
+        this.rawTrailingOffset = Prices.toRaw(trailingOffset);
+    }
+
+    @ToString.Include
+    public Instant getExpiryTime() {
+        return toInstant(expiryTimeNanos);
+    }
+
+    public void setExpiryTime(Instant expiryTime) {
+        this.expiryTimeNanos = toNanos(expiryTime);
+    }
+
+    @ToString.Include
+    public Instant getTimeStamp() {
+        return toInstant(timeStampNanos);
+    }
+
+    public void setTimeStamp(Instant timeStamp) {
+        this.timeStampNanos = toNanos(timeStamp);
+    }
+
+    private static long toNanos(Instant instant) {
+        return instant != null ? Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano()) : NO_TIME;
+    }
+
+    private static Instant toInstant(long nanos) {
+        return nanos != NO_TIME ? Instant.ofEpochSecond(0, nanos) : null;
+    }
 }
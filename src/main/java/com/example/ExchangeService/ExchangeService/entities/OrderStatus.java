@@ -12,7 +12,9 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "order_status")
+@Table(name = "order_status", indexes = {
+        @Index(name = "idx_status_updated", columnList = "status, updated_at, order_id")
+})
 @Data
 @Builder
 @NoArgsConstructor
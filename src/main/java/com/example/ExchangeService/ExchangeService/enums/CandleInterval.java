@@ -0,0 +1,31 @@
+package com.example.ExchangeService.ExchangeService.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum CandleInterval {
+    S1("1s", 1_000L, 3_600),            // last hour
+    M1("1m", 60_000L, 1_440),           // last day
+    M5("5m", 300_000L, 2_016),          // last week
+    H1("1h", 3_600_000L, 2_160),        // last 90 days
+    D1("1d", 86_400_000L, 3_650);       // last 10 years
+
+    private final String label;
+    private final long millis;
+    private final int capacity;
+
+    CandleInterval(String label, long millis, int capacity) {
+        this.label = label;
+        this.millis = millis;
+        this.capacity = capacity;
+    }
+
+    public static CandleInterval fromLabel(String label) {
+        for (CandleInterval interval : values()) {
+            if (interval.label.equalsIgnoreCase(label) || interval.name().equalsIgnoreCase(label)) {
+                return interval;
+            }
+        }
+        throw new IllegalArgumentException("Unknown candle interval: " + label);
+    }
+}
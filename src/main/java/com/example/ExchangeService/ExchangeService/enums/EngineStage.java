@@ -0,0 +1,20 @@
+package com.example.ExchangeService.ExchangeService.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum EngineStage {
+    POLL("poll"),               // broker append -> listener, from the record timestamp
+    PARSE("parse"),             // envelope + payload JSON decode
+    IDEMPOTENCY("idempotency"), // processed-event lookup
+    MATCH("match"),             // OrderBook.addOrder
+    PERSIST("persist"),         // execution/status saves, processed marker and flush
+    PUBLISH("publish"),         // kafkaTemplate.send hand-off for execution reports
+    TOTAL("total");             // whole listener call, including the transaction commit
+
+    private final String tag;
+
+    EngineStage(String tag) {
+        this.tag = tag;
+    }
+}
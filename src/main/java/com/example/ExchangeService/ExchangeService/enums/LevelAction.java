@@ -0,0 +1,7 @@
+package com.example.ExchangeService.ExchangeService.enums;
+
+public enum LevelAction {
+    ADD,
+    UPDATE,
+    DELETE
+}
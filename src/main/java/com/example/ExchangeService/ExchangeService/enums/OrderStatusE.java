@@ -3,5 +3,6 @@ package com.example.ExchangeService.ExchangeService.enums;
 public enum OrderStatusE {
     PENDING,
     PARTIALLY_FILLED,
-    FILLED
+    FILLED,
+    REJECTED
 }
@@ -0,0 +1,23 @@
+package com.example.ExchangeService.ExchangeService.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Candle {
+    private String symbol;
+    private String interval;
+    private long openTime;      // epoch millis, start of the bar
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private long volume;
+    private int trades;
+    private boolean closed;
+}
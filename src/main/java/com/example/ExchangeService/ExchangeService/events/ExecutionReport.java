@@ -0,0 +1,31 @@
+package com.example.ExchangeService.ExchangeService.events;
+
+import com.example.ExchangeService.ExchangeService.enums.OrderStatusE;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One fill or status change for one of the user's orders, sequenced per user for resume
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionReport {
+    private String userId;
+    private long sequence;
+    private String orderId;
+    private String counterOrderId;
+    private String symbol;
+    private String side;
+    private String type;
+    private OrderStatusE status;
+    private int quantity;
+    private int filledQuantity;
+    private BigDecimal lastQuantity;
+    private BigDecimal lastPrice;
+    private LocalDateTime executedAt;
+}
@@ -0,0 +1,16 @@
+package com.example.ExchangeService.ExchangeService.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One keyset page; pass nextCursor back as ?cursor= to get the following page, null when exhausted
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> {
+    private List<T> items;
+    private String nextCursor;
+}
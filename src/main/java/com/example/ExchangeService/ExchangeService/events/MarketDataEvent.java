@@ -0,0 +1,28 @@
+package com.example.ExchangeService.ExchangeService.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarketDataEvent {
+
+    private String symbol;
+    private String type;            // DELTA or SNAPSHOT
+    private long sequence;          // snapshots carry the sequence of the last delta they include
+    private BigDecimal bestBid;
+    private long bestBidQuantity;
+    private BigDecimal bestAsk;
+    private long bestAskQuantity;
+    private BigDecimal lastTradedPrice;
+    private List<PriceLevelUpdate> updates;   // DELTA only
+    private List<PriceLevel> bids;            // SNAPSHOT only
+    private List<PriceLevel> asks;            // SNAPSHOT only
+}
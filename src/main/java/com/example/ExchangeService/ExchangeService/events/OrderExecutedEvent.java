@@ -21,4 +21,5 @@ public class OrderExecutedEvent {
     private BigDecimal notionalValue;
     private String status;
     private Instant executedAt;
+    private String reason;      // set on rejections only
 }
@@ -0,0 +1,24 @@
+package com.example.ExchangeService.ExchangeService.events;
+
+import com.example.ExchangeService.ExchangeService.enums.OrderStatusE;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Point-in-time status of one order as served by the order-status query API
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderState {
+    private String orderId;
+    private String symbol;
+    private OrderStatusE status;
+    private Integer quantity;           // null when answered from the database
+    private BigDecimal filledQuantity;
+    private Instant updatedAt;
+}
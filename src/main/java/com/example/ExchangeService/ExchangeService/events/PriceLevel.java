@@ -0,0 +1,15 @@
+package com.example.ExchangeService.ExchangeService.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceLevel {
+    private BigDecimal price;
+    private long quantity;
+}
@@ -0,0 +1,19 @@
+package com.example.ExchangeService.ExchangeService.events;
+
+import com.example.ExchangeService.ExchangeService.enums.LevelAction;
+import com.example.ExchangeService.ExchangeService.enums.OrderSide;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceLevelUpdate {
+    private OrderSide side;
+    private BigDecimal price;
+    private long quantity;      // new aggregated size, 0 on DELETE
+    private LevelAction action;
+}
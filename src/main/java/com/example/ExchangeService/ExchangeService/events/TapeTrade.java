@@ -0,0 +1,21 @@
+package com.example.ExchangeService.ExchangeService.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One trade as read back from the trade tape
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TapeTrade {
+    private long timestamp;     // epoch millis
+    private String symbol;
+    private long orderId;
+    private long counterOrderId;
+    private String aggressorSide;
+    private double price;
+    private long quantity;
+}
@@ -0,0 +1,26 @@
+package com.example.ExchangeService.ExchangeService.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Rolling-window statistics for one symbol; price fields are null until the window has trades
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Ticker {
+    private String symbol;
+    private Double lastPrice;
+    private Double open;
+    private Double high;
+    private Double low;
+    private Double vwap;
+    private Double change;
+    private Double changePercent;
+    private long volume;
+    private double notional;
+    private long trades;
+    private long asOf;          // epoch millis
+}
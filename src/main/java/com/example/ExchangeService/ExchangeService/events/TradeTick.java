@@ -0,0 +1,25 @@
+package com.example.ExchangeService.ExchangeService.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Public print of one internal trade, as streamed to market data subscribers
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TradeTick {
+    @JsonIgnore
+    private int instrumentId;
+    private String symbol;
+    private BigDecimal price;
+    private BigDecimal quantity;
+    private String aggressorSide;
+    private LocalDateTime executedAt;
+}
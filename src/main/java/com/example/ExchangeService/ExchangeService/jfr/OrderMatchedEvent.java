@@ -0,0 +1,33 @@
+package com.example.ExchangeService.ExchangeService.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Spans OrderBook.addOrder, including stops and waiting market orders it set off
+@Name("exchange.OrderMatched")
+@Label("Order Matched")
+@Description("Order run through the book")
+@Category({"Exchange", "Matching"})
+@StackTrace(false)
+public class OrderMatchedEvent extends Event {
+
+    @Label("Order Id")
+    public String orderId;
+
+    @Label("Symbol")
+    public String symbol;
+
+    @Label("Fills")
+    public int fills;
+
+    @Label("Levels Swept")
+    @Description("Distinct execution prices among the fills")
+    public int levelsSwept;
+
+    @Label("Resting Orders")
+    public int restingOrders;
+}
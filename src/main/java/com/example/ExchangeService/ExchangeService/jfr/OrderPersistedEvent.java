@@ -0,0 +1,31 @@
+package com.example.ExchangeService.ExchangeService.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Spans the processed marker and flush; saves made between fills are summed into saveTime
+@Name("exchange.OrderPersisted")
+@Label("Order Persisted")
+@Description("Executions, status rows and processed marker written for one order")
+@Category({"Exchange", "Persistence"})
+@StackTrace(false)
+public class OrderPersistedEvent extends Event {
+
+    @Label("Order Id")
+    public String orderId;
+
+    @Label("Executions")
+    public int executions;
+
+    @Label("Status Updates")
+    public int statusUpdates;
+
+    @Label("Save Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long saveTime;
+}
@@ -0,0 +1,32 @@
+package com.example.ExchangeService.ExchangeService.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Execution reports and the market data delta handed to Kafka for one order. The event spans the
+// fan-out after matching; Send Time is the part of it spent in the producer.
+@Name("exchange.OrderPublished")
+@Label("Order Published")
+@Description("Outbound events handed to the Kafka producer for one order")
+@Category({"Exchange", "Publishing"})
+@StackTrace(false)
+public class OrderPublishedEvent extends Event {
+
+    @Label("Order Id")
+    public String orderId;
+
+    @Label("Symbol")
+    public String symbol;
+
+    @Label("Execution Reports")
+    public int executionReports;
+
+    @Label("Send Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long sendTime;
+}
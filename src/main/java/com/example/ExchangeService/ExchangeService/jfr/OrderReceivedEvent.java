@@ -0,0 +1,38 @@
+package com.example.ExchangeService.ExchangeService.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Spans listener entry to a decoded OrderPlacedEvent
+@Name("exchange.OrderReceived")
+@Label("Order Received")
+@Description("Order taken off orders.v1 and parsed")
+@Category({"Exchange", "Matching"})
+@StackTrace(false)
+public class OrderReceivedEvent extends Event {
+
+    @Label("Order Id")
+    public String orderId;
+
+    @Label("Symbol")
+    public String symbol;
+
+    @Label("Side")
+    public String side;
+
+    @Label("Type")
+    public String type;
+
+    @Label("Quantity")
+    public int quantity;
+
+    @Label("Partition")
+    public int partition;
+
+    @Label("Offset")
+    public long offset;
+}
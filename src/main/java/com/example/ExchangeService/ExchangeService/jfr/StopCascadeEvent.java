@@ -0,0 +1,32 @@
+package com.example.ExchangeService.ExchangeService.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// One round of stop triggering in OrderBook.checkStopOrders; nested rounds get their own event
+@Name("exchange.StopCascade")
+@Label("Stop Cascade")
+@Description("Stop orders triggered by a trade and the fills they produced")
+@Category({"Exchange", "Matching"})
+@StackTrace(false)
+public class StopCascadeEvent extends Event {
+
+    @Label("Symbol")
+    public String symbol;
+
+    @Label("Trigger Price")
+    public double triggerPrice;
+
+    @Label("Stops Triggered")
+    public int triggered;
+
+    @Label("Fills")
+    public int fills;
+
+    @Label("Stops Remaining")
+    public int remaining;
+}
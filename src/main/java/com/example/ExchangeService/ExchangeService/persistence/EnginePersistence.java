@@ -0,0 +1,27 @@
+package com.example.ExchangeService.ExchangeService.persistence;
+
+import com.example.ExchangeService.ExchangeService.entities.Execution;
+import com.example.ExchangeService.ExchangeService.entities.OrderStatus;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+// Everything the matching engine needs to store: executions, order status and dedupe markers.
+// Selected with engine.persistence.type = jpa (default) | memory | journal.
+public interface EnginePersistence {
+
+    boolean isProcessed(String eventId);
+
+    void markProcessed(String eventId, Instant processedAt);
+
+    void saveExecution(Execution execution);
+
+    void saveOrderStatus(OrderStatus status);
+
+    List<OrderStatus> findOrderStatuses(Collection<Long> orderIds);
+
+    // Called once the engine has finished processing one message
+    default void flush() {
+    }
+}
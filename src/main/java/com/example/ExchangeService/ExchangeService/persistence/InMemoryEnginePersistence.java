@@ -0,0 +1,72 @@
+package com.example.ExchangeService.ExchangeService.persistence;
+
+import com.example.ExchangeService.ExchangeService.entities.Execution;
+import com.example.ExchangeService.ExchangeService.entities.OrderStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Heap-only store for benchmarks and tests; nothing survives a restart
+@Component
+@ConditionalOnProperty(name = "engine.persistence.type", havingValue = "memory")
+public class InMemoryEnginePersistence implements EnginePersistence {
+
+    private final Set<String> processed = ConcurrentHashMap.newKeySet();
+    private final Map<Long, OrderStatus> statuses = new ConcurrentHashMap<>();
+    private final List<Execution> executions = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong executionIds = new AtomicLong();
+
+    @Override
+    public boolean isProcessed(String eventId) {
+        return processed.contains(eventId);
+    }
+
+    @Override
+    public void markProcessed(String eventId, Instant processedAt) {
+        processed.add(eventId);
+    }
+
+    @Override
+    public void saveExecution(Execution execution) {
+        execution.setId(executionIds.incrementAndGet());
+        executions.add(execution);
+    }
+
+    @Override
+    public void saveOrderStatus(OrderStatus status) {
+        statuses.put(status.getOrderId(), status);
+    }
+
+    @Override
+    public List<OrderStatus> findOrderStatuses(Collection<Long> orderIds) {
+        List<OrderStatus> result = new ArrayList<>(orderIds.size());
+        for (Long orderId : orderIds) {
+            OrderStatus status = statuses.get(orderId);
+            if (status != null) {
+                result.add(status);
+            }
+        }
+        return result;
+    }
+
+    public List<Execution> getExecutions() {
+        synchronized (executions) {
+            return new ArrayList<>(executions);
+        }
+    }
+
+    public void clear() {
+        processed.clear();
+        statuses.clear();
+        executions.clear();
+    }
+}
@@ -0,0 +1,364 @@
+package com.example.ExchangeService.ExchangeService.persistence;
+
+import com.example.ExchangeService.ExchangeService.entities.Execution;
+import com.example.ExchangeService.ExchangeService.entities.OrderStatus;
+import com.example.ExchangeService.ExchangeService.enums.OrderStatusE;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Append-only binary journal. Every write is a length-prefixed record buffered in memory and
+// flushed once per processed message (optionally fsynced). On startup the journal is replayed to
+// rebuild order status and the dedupe window; a torn last record from a crash is truncated, while
+// damage anywhere before the tail fails startup. Once the journal passes the roll-over size it is
+// archived next to itself and a new one is started from a snapshot of the replayable state.
+@Component
+@ConditionalOnProperty(name = "engine.persistence.type", havingValue = "journal")
+@Slf4j
+public class JournalEnginePersistence implements EnginePersistence {
+
+    private static final byte PROCESSED = 'P';
+    private static final byte EXECUTION = 'E';
+    private static final byte STATUS = 'S';
+    private static final byte CHECKPOINT = 'C';
+    private static final int MAX_RECORD = 64 * 1024;
+
+    private final Path journalFile;
+    private final Path snapshotFile;
+    private final boolean fsync;
+    private final long rollOverBytes;
+
+    // Orders not yet filled or rejected; they leave as soon as they reach a terminal status
+    private final Map<Long, OrderStatus> statuses = new ConcurrentHashMap<>();
+    // Insertion-ordered windows, so the oldest terminal statuses and markers fall out once full
+    private final Map<Long, OrderStatus> terminalStatuses;
+    private final Map<String, Boolean> processed;
+    private long lastExecutionId;
+    private long written;
+
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    private FileOutputStream file;
+    private DataOutputStream out;
+
+    public JournalEnginePersistence(String journalFile, boolean fsync, int dedupeWindow) {
+        this(journalFile, fsync, dedupeWindow, 100_000, 256L * 1024 * 1024);
+    }
+
+    @Autowired
+    public JournalEnginePersistence(@Value("${engine.journal.file:data/journal/engine.journal}") String journalFile,
+                                    @Value("${engine.journal.fsync:false}") boolean fsync,
+                                    @Value("${engine.journal.dedupe-window:1000000}") int dedupeWindow,
+                                    @Value("${engine.journal.terminal-status-window:100000}") int terminalStatusWindow,
+                                    @Value("${engine.journal.roll-over-bytes:268435456}") long rollOverBytes) {
+        this.journalFile = Paths.get(journalFile);
+        this.snapshotFile = Paths.get(journalFile + ".snapshot");
+        this.fsync = fsync;
+        this.rollOverBytes = rollOverBytes;
+        this.terminalStatuses = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, OrderStatus> eldest) {
+                return size() > terminalStatusWindow;
+            }
+        };
+        this.processed = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > dedupeWindow;
+            }
+        };
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(journalFile.toAbsolutePath().getParent());
+        // A snapshot is only moved into place after the old journal was archived, so a leftover one
+        // is either complete (the crash hit between the two moves) or never made it that far
+        if (Files.exists(snapshotFile)) {
+            if (Files.exists(journalFile)) {
+                Files.delete(snapshotFile);
+            } else {
+                Files.move(snapshotFile, journalFile, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        long valid = replay();
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (channel.size() > valid) {
+                log.warn("Truncating torn journal tail of {} bytes in {}", channel.size() - valid, journalFile);
+                channel.truncate(valid);
+            }
+        }
+        written = valid;
+        openForAppend();
+        log.info("Journal {} replayed: {} live and {} terminal order statuses, {} dedupe markers",
+                journalFile, statuses.size(), terminalStatuses.size(), processed.size());
+    }
+
+    @Override
+    public synchronized boolean isProcessed(String eventId) {
+        return processed.containsKey(eventId);
+    }
+
+    @Override
+    public synchronized void markProcessed(String eventId, Instant processedAt) {
+        processed.put(eventId, Boolean.TRUE);
+        append(PROCESSED, r -> {
+            r.writeUTF(eventId);
+            r.writeLong(processedAt.toEpochMilli());
+        });
+    }
+
+    @Override
+    public synchronized void saveExecution(Execution execution) {
+        execution.setId(++lastExecutionId);
+        append(EXECUTION, r -> {
+            r.writeLong(execution.getId());
+            r.writeLong(execution.getOrderId() != null ? execution.getOrderId() : 0);
+            r.writeLong(execution.getCounterOrderId() != null ? execution.getCounterOrderId() : 0);
+            r.writeUTF(nonNull(execution.getUserId()));
+            r.writeUTF(nonNull(execution.getInstrumentSymbol()));
+            r.writeUTF(nonNull(execution.getSide()));
+            writeDecimal(r, execution.getQuantity());
+            writeDecimal(r, execution.getPrice());
+            writeDecimal(r, execution.getNotional());
+            LocalDateTime executedAt = execution.getExecutedAt();
+            r.writeLong(executedAt != null ? executedAt.toEpochSecond(ZoneOffset.UTC) : 0);
+            r.writeInt(executedAt != null ? executedAt.getNano() : 0);
+        });
+    }
+
+    @Override
+    public synchronized void saveOrderStatus(OrderStatus status) {
+        track(status);
+        append(STATUS, r -> writeStatus(r, status));
+    }
+
+    @Override
+    public synchronized List<OrderStatus> findOrderStatuses(Collection<Long> orderIds) {
+        List<OrderStatus> result = new ArrayList<>(orderIds.size());
+        for (Long orderId : orderIds) {
+            OrderStatus status = statuses.get(orderId);
+            if (status == null) {
+                status = terminalStatuses.get(orderId);
+            }
+            if (status != null) {
+                result.add(status);
+            }
+        }
+        return result;
+    }
+
+    // Called between messages, so a roll-over never splits the records of one message
+    @Override
+    public synchronized void flush() {
+        try {
+            out.flush();
+            if (fsync) {
+                file.getChannel().force(false);
+            }
+            if (written >= rollOverBytes) {
+                rollOver();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal flush failed", e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            out.flush();
+            file.getChannel().force(false);
+            out.close();
+        }
+    }
+
+    private void track(OrderStatus status) {
+        if (status.getStatus() == OrderStatusE.FILLED || status.getStatus() == OrderStatusE.REJECTED) {
+            statuses.remove(status.getOrderId());
+            terminalStatuses.put(status.getOrderId(), status);
+        } else {
+            statuses.put(status.getOrderId(), status);
+        }
+    }
+
+    private void append(byte type, RecordWriter writer) {
+        try {
+            written += writeRecord(out, type, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal append failed", e);
+        }
+    }
+
+    private int writeRecord(DataOutputStream target, byte type, RecordWriter writer) throws IOException {
+        record.reset();
+        recordOut.writeByte(type);
+        writer.write(recordOut);
+        target.writeInt(record.size());
+        record.writeTo(target);
+        return 4 + record.size();
+    }
+
+    private void openForAppend() throws IOException {
+        file = new FileOutputStream(journalFile.toFile(), true);
+        out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024));
+    }
+
+    // Writes the replayable state to a snapshot, archives the full journal as <file>.<millis> and
+    // moves the snapshot into its place. Archives keep the execution history and are never replayed.
+    private void rollOver() throws IOException {
+        file.getChannel().force(false);
+        out.close();
+        long size = 0;
+        try (FileOutputStream snapshot = new FileOutputStream(snapshotFile.toFile());
+             DataOutputStream snapshotOut = new DataOutputStream(new BufferedOutputStream(snapshot, 64 * 1024))) {
+            size += writeRecord(snapshotOut, CHECKPOINT, r -> r.writeLong(lastExecutionId));
+            for (OrderStatus status : terminalStatuses.values()) {
+                size += writeRecord(snapshotOut, STATUS, r -> writeStatus(r, status));
+            }
+            for (OrderStatus status : statuses.values()) {
+                size += writeRecord(snapshotOut, STATUS, r -> writeStatus(r, status));
+            }
+            for (String eventId : processed.keySet()) {
+                size += writeRecord(snapshotOut, PROCESSED, r -> {
+                    r.writeUTF(eventId);
+                    r.writeLong(0);
+                });
+            }
+            snapshotOut.flush();
+            snapshot.getChannel().force(true);
+        }
+        Path archive = journalFile.resolveSibling(journalFile.getFileName() + "." + System.currentTimeMillis());
+        Files.move(journalFile, archive);
+        Files.move(snapshotFile, journalFile, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Journal rolled over after {} bytes to {}; new journal starts with a {} byte snapshot",
+                written, archive, size);
+        written = size;
+        openForAppend();
+    }
+
+    // Returns the length of the journal prefix made of complete records. Only a tail a crash can
+    // leave behind (a partial last record, or zero fill) is tolerated; anything else is corruption.
+    private long replay() throws IOException {
+        if (!Files.exists(journalFile)) {
+            return 0;
+        }
+        long size = Files.size(journalFile);
+        long valid = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalFile), 64 * 1024))) {
+            while (size - valid >= 4) {
+                int length = in.readInt();
+                if (length <= 0 || length > MAX_RECORD) {
+                    if (length == 0 && onlyZerosRemain(in)) break;
+                    throw corrupt(valid, "bad record length " + length);
+                }
+                if (size - valid - 4 < length) break;
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                try {
+                    apply(new DataInputStream(new ByteArrayInputStream(payload)));
+                } catch (IOException | RuntimeException e) {
+                    throw corrupt(valid, "unreadable record: " + e);
+                }
+                valid += 4 + length;
+            }
+        }
+        return valid;
+    }
+
+    private static boolean onlyZerosRemain(DataInputStream in) throws IOException {
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b != 0) return false;
+        }
+        return true;
+    }
+
+    private IllegalStateException corrupt(long offset, String reason) {
+        return new IllegalStateException("Journal " + journalFile + " is corrupt at offset " + offset + " (" + reason
+                + "); refusing to start rather than drop the records after it");
+    }
+
+    private void apply(DataInputStream r) throws IOException {
+        byte type = r.readByte();
+        if (type == PROCESSED) {
+            processed.put(r.readUTF(), Boolean.TRUE);
+        } else if (type == EXECUTION || type == CHECKPOINT) {
+            lastExecutionId = Math.max(lastExecutionId, r.readLong());
+        } else if (type == STATUS) {
+            track(readStatus(r));
+        } else {
+            throw new IOException("unknown record type " + type);
+        }
+    }
+
+    private static void writeStatus(DataOutputStream r, OrderStatus status) throws IOException {
+        r.writeLong(status.getOrderId());
+        r.writeByte(status.getStatus() != null ? status.getStatus().ordinal() : -1);
+        writeDecimal(r, status.getFilledQuantity());
+        Instant updatedAt = status.getUpdatedAt() != null ? status.getUpdatedAt() : Instant.EPOCH;
+        r.writeLong(updatedAt.getEpochSecond());
+        r.writeInt(updatedAt.getNano());
+    }
+
+    private static OrderStatus readStatus(DataInputStream r) throws IOException {
+        long orderId = r.readLong();
+        byte status = r.readByte();
+        BigDecimal filled = readDecimal(r);
+        Instant updatedAt = Instant.ofEpochSecond(r.readLong(), r.readInt());
+        return OrderStatus.builder()
+                .orderId(orderId)
+                .status(status >= 0 ? OrderStatusE.values()[status] : null)
+                .filledQuantity(filled)
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    private static void writeDecimal(DataOutputStream r, BigDecimal value) throws IOException {
+        r.writeUTF(value != null ? value.toPlainString() : "");
+    }
+
+    private static BigDecimal readDecimal(DataInputStream r) throws IOException {
+        String value = r.readUTF();
+        return value.isEmpty() ? null : new BigDecimal(value);
+    }
+
+    private static String nonNull(String value) {
+        return value != null ? value : "";
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.ExchangeService.ExchangeService.persistence;
+
+import com.example.ExchangeService.ExchangeService.Repositories.ExecutionRepository;
+import com.example.ExchangeService.ExchangeService.Repositories.OrderStatusRepository;
+import com.example.ExchangeService.ExchangeService.Repositories.ProcessedEventsRepository;
+import com.example.ExchangeService.ExchangeService.entities.Execution;
+import com.example.ExchangeService.ExchangeService.entities.OrderStatus;
+import com.example.ExchangeService.ExchangeService.entities.ProcessedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+// MySQL through the Spring Data repositories
+@Component
+@ConditionalOnProperty(name = "engine.persistence.type", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaEnginePersistence implements EnginePersistence {
+
+    private final ExecutionRepository execRepo;
+    private final OrderStatusRepository statusRepo;
+    private final ProcessedEventsRepository eventsRepo;
+
+    @Override
+    public boolean isProcessed(String eventId) {
+        return eventsRepo.existsById(eventId);
+    }
+
+    @Override
+    public void markProcessed(String eventId, Instant processedAt) {
+        eventsRepo.save(new ProcessedEvent(eventId, processedAt));
+    }
+
+    @Override
+    public void saveExecution(Execution execution) {
+        execRepo.save(execution);
+    }
+
+    @Override
+    public void saveOrderStatus(OrderStatus status) {
+        statusRepo.save(status);
+    }
+
+    @Override
+    public List<OrderStatus> findOrderStatuses(Collection<Long> orderIds) {
+        return statusRepo.findAllById(orderIds);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.ExchangeService.ExchangeService.replay;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ReplayReport {
+    private final String file;
+    private final String speed;
+    private final long orders;
+    private final long parseErrors;
+    private final double wallSeconds;
+    private final double throughputOrdersPerSec;
+    private final double latencyP50Micros;
+    private final double latencyP90Micros;
+    private final double latencyP99Micros;
+    private final double latencyP999Micros;
+    private final double latencyMaxMicros;
+    private final int capturedExecutions;
+    private final int replayedExecutions;
+    private final int mismatches;
+    private final String firstMismatch;
+
+    public boolean isIdentical() {
+        return mismatches == 0 && capturedExecutions == replayedExecutions;
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.ExchangeService.ExchangeService.replay;
+
+import com.example.ExchangeService.ExchangeService.entities.Execution;
+import com.example.ExchangeService.ExchangeService.events.EventEnvelope;
+import com.example.ExchangeService.ExchangeService.events.OrderPlacedEvent;
+import com.example.ExchangeService.ExchangeService.persistence.InMemoryEnginePersistence;
+import com.example.ExchangeService.ExchangeService.service.DropCopyService;
+import com.example.ExchangeService.ExchangeService.service.EngineEventBus;
+import com.example.ExchangeService.ExchangeService.service.EngineStageMetrics;
+import com.example.ExchangeService.ExchangeService.service.ExecutionEventService;
+import com.example.ExchangeService.ExchangeService.service.MarketDataService;
+import com.example.ExchangeService.ExchangeService.service.MatchingEngineService;
+import com.example.ExchangeService.ExchangeService.service.OrderBookMetrics;
+import com.example.ExchangeService.ExchangeService.service.OrderStatusService;
+import com.example.ExchangeService.ExchangeService.utils.CaptureFile;
+import com.example.ExchangeService.ExchangeService.utils.EngineClock;
+import com.example.ExchangeService.ExchangeService.utils.InstrumentRegistry;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.locks.LockSupport;
+
+// Feeds a capture straight into a fresh MatchingEngineService, without Kafka or a database, and
+// compares the executions it produces with the ones recorded alongside the capture.
+//   mvn -Preplay compile exec:exec -Dreplay.args="data/capture/orders-....ocap 10x [config.yml]"
+// Speed is "1x" (recorded pacing), "<N>x", or "max" (back to back). Instruments come from the
+// instruments.* settings of the given config file (the bundled application.yml by default), so
+// orders are rejected for tick, lot and band exactly as in the run that was captured.
+public class ReplayRunner {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final Path file;
+    private final String speedLabel;
+    private final double speed; // 0 = as fast as possible
+    private final Properties instrumentConfig;
+
+    public ReplayRunner(Path file, String speed) throws IOException {
+        this(file, speed, InstrumentRegistry.loadConfig(new ClassPathResource("application.yml")));
+    }
+
+    public ReplayRunner(Path file, String speed, Properties instrumentConfig) {
+        this.file = file;
+        this.speedLabel = speed;
+        this.speed = parseSpeed(speed);
+        this.instrumentConfig = instrumentConfig;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: ReplayRunner <capture-file> [1x|<N>x|max] [config.yml|config.properties]");
+            System.exit(2);
+        }
+        LoggingSystem loggingSystem = LoggingSystem.get(ReplayRunner.class.getClassLoader());
+        loggingSystem.beforeInitialize();
+        loggingSystem.setLogLevel(null, LogLevel.WARN);
+
+        String speed = args.length > 1 ? args[1] : "max";
+        ReplayReport report = (args.length > 2
+                ? new ReplayRunner(Paths.get(args[0]), speed,
+                        InstrumentRegistry.loadConfig(new FileSystemResource(args[2])))
+                : new ReplayRunner(Paths.get(args[0]), speed)).run();
+        System.out.println(new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        System.exit(report.isIdentical() ? 0 : 1);
+    }
+
+    public ReplayReport run() throws IOException {
+        InMemoryEnginePersistence persistence = new InMemoryEnginePersistence();
+        DiscardingKafkaTemplate kafka = new DiscardingKafkaTemplate();
+        InstrumentRegistry instrumentRegistry = InstrumentRegistry.fromProperties(instrumentConfig);
+        EngineEventBus engineEventBus = new EngineEventBus(instrumentRegistry, 65_536, 256);
+        EngineClock engineClock = new EngineClock();
+        MatchingEngineService engine = new MatchingEngineService(persistence,
+                new ExecutionEventService(kafka, engineClock), new MarketDataService(kafka, 20, engineClock, instrumentRegistry),
+                new OrderBookMetrics(new SimpleMeterRegistry()), engineEventBus,
+                new DropCopyService(256, 1_024, 100_000), List.of(), new OrderStatusService(persistence, 100_000, engineClock),
+                new EngineStageMetrics(new SimpleMeterRegistry(), 1_000), engineClock,
+                instrumentRegistry);
+
+        List<CaptureFile.Record> captured = new ArrayList<>();
+        long[] latencies = new long[1_024];
+        int orders = 0;
+        long parseErrors = 0;
+        long firstOffset = -1;
+        long start = System.nanoTime();
+        try (CaptureFile.Reader reader = new CaptureFile.Reader(file)) {
+            CaptureFile.Record record;
+            while ((record = reader.next()) != null) {
+                if (!record.isOrder()) {
+                    captured.add(record);
+                    continue;
+                }
+                if (firstOffset < 0) firstOffset = record.getOffsetNanos();
+                // Paced runs measure from the intended time, so a slow order also charges the ones queued behind it
+                long intended = speed > 0
+                        ? start + (long) ((record.getOffsetNanos() - firstOffset) / speed)
+                        : System.nanoTime();
+                while (System.nanoTime() < intended) {
+                    LockSupport.parkNanos(Math.min(intended - System.nanoTime(), 100_000));
+                }
+                OrderPlacedEvent event = parse(record.getPayload());
+                if (event == null) {
+                    parseErrors++;
+                    continue;
+                }
+                // Same engine time as the original run, so timestamps and priorities come out identical
+                engine.process(event.getOrderId(), event, Instant.ofEpochMilli(record.getRecordTimestamp()));
+                if (orders == latencies.length) latencies = Arrays.copyOf(latencies, orders * 2);
+                latencies[orders++] = System.nanoTime() - intended;
+            }
+        } finally {
+            engineEventBus.shutdown();
+        }
+        double wallSeconds = (System.nanoTime() - start) / 1e9;
+
+        List<Execution> replayed = persistence.getExecutions();
+        int mismatches = 0;
+        String firstMismatch = null;
+        for (int i = 0; i < Math.min(captured.size(), replayed.size()); i++) {
+            if (!sameExecution(captured.get(i), replayed.get(i))) {
+                if (firstMismatch == null) firstMismatch = describeMismatch(i, captured.get(i), replayed.get(i));
+                mismatches++;
+            }
+        }
+        if (firstMismatch == null && captured.size() != replayed.size()) {
+            firstMismatch = "execution count differs: captured " + captured.size() + ", replayed " + replayed.size();
+        }
+
+        Arrays.sort(latencies, 0, orders);
+        return ReplayReport.builder()
+                .file(file.toString())
+                .speed(speedLabel)
+                .orders(orders)
+                .parseErrors(parseErrors)
+                .wallSeconds(wallSeconds)
+                .throughputOrdersPerSec(wallSeconds > 0 ? orders / wallSeconds : 0)
+                .latencyP50Micros(percentileMicros(latencies, orders, 0.5))
+                .latencyP90Micros(percentileMicros(latencies, orders, 0.9))
+                .latencyP99Micros(percentileMicros(latencies, orders, 0.99))
+                .latencyP999Micros(percentileMicros(latencies, orders, 0.999))
+                .latencyMaxMicros(orders > 0 ? latencies[orders - 1] / 1e3 : 0)
+                .capturedExecutions(captured.size())
+                .replayedExecutions(replayed.size())
+                .mismatches(mismatches)
+                .firstMismatch(firstMismatch)
+                .build();
+    }
+
+    // Same decoding as OrdersEventConsumer: envelope first, then the payload as an OrderPlacedEvent
+    private OrderPlacedEvent parse(String payload) {
+        try {
+            EventEnvelope<Object> envelope = objectMapper.readValue(payload, new TypeReference<EventEnvelope<Object>>() {});
+            return objectMapper.convertValue(envelope.getPayload(), OrderPlacedEvent.class);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static boolean sameExecution(CaptureFile.Record expected, Execution actual) {
+        return expected.getOrderId() == actual.getOrderId()
+                && expected.getCounterOrderId() == actual.getCounterOrderId()
+                && new BigDecimal(expected.getPrice()).compareTo(actual.getPrice()) == 0
+                && new BigDecimal(expected.getQuantity()).compareTo(actual.getQuantity()) == 0;
+    }
+
+    private static String describeMismatch(int index, CaptureFile.Record expected, Execution actual) {
+        return "execution " + index + ": captured " + expected.getOrderId() + "x" + expected.getCounterOrderId()
+                + " " + expected.getQuantity() + "@" + expected.getPrice()
+                + ", replayed " + actual.getOrderId() + "x" + actual.getCounterOrderId()
+                + " " + actual.getQuantity().toPlainString() + "@" + actual.getPrice().toPlainString();
+    }
+
+    private static double percentileMicros(long[] sorted, int count, double percentile) {
+        if (count == 0) return 0;
+        int index = (int) Math.min(count - 1, Math.ceil(percentile * count) - 1);
+        return sorted[Math.max(index, 0)] / 1e3;
+    }
+
+    static double parseSpeed(String speed) {
+        if (speed == null || speed.equalsIgnoreCase("max")) return 0;
+        String value = speed.toLowerCase().endsWith("x") ? speed.substring(0, speed.length() - 1) : speed;
+        double parsed = Double.parseDouble(value);
+        if (parsed <= 0) {
+            throw new IllegalArgumentException("speed must be positive, or max: " + speed);
+        }
+        return parsed;
+    }
+}
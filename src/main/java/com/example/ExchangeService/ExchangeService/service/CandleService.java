@@ -0,0 +1,162 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.entities.Execution;
+import com.example.ExchangeService.ExchangeService.enums.CandleInterval;
+import com.example.ExchangeService.ExchangeService.events.Candle;
+import com.example.ExchangeService.ExchangeService.utils.CandleSeries;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory OHLCV bars for every symbol and interval, fed by executions on the matching thread.
+// Charting reads and the closed-bar stream never touch MySQL; bars are checkpointed to a local
+// file and restored on startup.
+@Service
+@Slf4j
+public class CandleService implements ExecutionListener {
+
+    private static final int CHECKPOINT_MAGIC = 0x43414E44; // "CAND"
+    private static final CandleInterval[] INTERVALS = CandleInterval.values();
+
+    private final Map<String, CandleSeries[]> series = new ConcurrentHashMap<>();
+    private final Sinks.Many<Candle> closedBars = Sinks.many().multicast().directBestEffort();
+    private final Path checkpointFile;
+
+    public CandleService(@Value("${candles.checkpoint-file:data/candles.bin}") String checkpointFile) {
+        this.checkpointFile = Paths.get(checkpointFile);
+    }
+
+    @Override
+    public void onExecution(Execution execution) {
+        long timestamp = execution.getExecutedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        double price = execution.getPrice().doubleValue();
+        long quantity = execution.getQuantity().longValue();
+        for (CandleSeries bars : seriesFor(execution.getInstrumentSymbol())) {
+            Candle closed = bars.onTrade(timestamp, price, quantity);
+            if (closed != null) {
+                emit(closed);
+            }
+        }
+    }
+
+    public List<Candle> getCandles(String symbol, CandleInterval interval, long from, long to, int limit) {
+        CandleSeries[] bars = series.get(symbol);
+        if (bars == null) {
+            return List.of();
+        }
+        return bars[interval.ordinal()].getCandles(from, to, limit);
+    }
+
+    public Flux<Candle> closedBars(String symbol, CandleInterval interval) {
+        String label = interval.getLabel();
+        return closedBars.asFlux()
+                .filter(bar -> bar.getSymbol().equals(symbol) && bar.getInterval().equals(label))
+                .onBackpressureBuffer(256, BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    // Closes bars whose period ended without a further trade
+    @Scheduled(fixedRate = 1000)
+    public void closeDueBars() {
+        long now = System.currentTimeMillis();
+        for (CandleSeries[] bars : series.values()) {
+            for (CandleSeries interval : bars) {
+                Candle closed = interval.closeIfDue(now);
+                if (closed != null) {
+                    emit(closed);
+                }
+            }
+        }
+    }
+
+    // The matching thread and the scheduler both close bars; a sink rejects concurrent emits
+    // (FAIL_NON_SERIALIZED) instead of queueing them, so emission is serialized here
+    void emit(Candle closed) {
+        Sinks.EmitResult result;
+        synchronized (closedBars) {
+            result = closedBars.tryEmitNext(closed);
+        }
+        if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+            log.warn("Closed {} {} bar at {} not delivered: {}", closed.getSymbol(), closed.getInterval(), closed.getOpenTime(), result);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${candles.checkpoint-interval-ms:60000}")
+    @PreDestroy
+    public void checkpoint() {
+        if (series.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(checkpointFile.toAbsolutePath().getParent());
+            Path tmp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(CHECKPOINT_MAGIC);
+                out.writeInt(series.size() * INTERVALS.length);
+                for (CandleSeries[] bars : series.values()) {
+                    for (CandleSeries interval : bars) {
+                        interval.writeTo(out);
+                    }
+                }
+            }
+            Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Checkpointed candles for {} symbols to {}", series.size(), checkpointFile);
+        } catch (IOException e) {
+            log.error("Failed to checkpoint candles to {}", checkpointFile, e);
+        }
+    }
+
+    @PostConstruct
+    public void restore() {
+        if (!Files.exists(checkpointFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpointFile)))) {
+            if (in.readInt() != CHECKPOINT_MAGIC) {
+                log.warn("Ignoring candle checkpoint {} with unknown format", checkpointFile);
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String symbol = in.readUTF();
+                CandleInterval interval = CandleInterval.valueOf(in.readUTF());
+                int size = in.readInt();
+                boolean lastClosed = in.readBoolean();
+                seriesFor(symbol)[interval.ordinal()].readFrom(in, size, lastClosed);
+            }
+            log.info("Restored candles for {} symbols from {}", series.size(), checkpointFile);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Failed to restore candles from {}", checkpointFile, e);
+            series.clear();
+        }
+    }
+
+    private CandleSeries[] seriesFor(String symbol) {
+        return series.computeIfAbsent(symbol, k -> {
+            CandleSeries[] bars = new CandleSeries[INTERVALS.length];
+            for (CandleInterval interval : INTERVALS) {
+                bars[interval.ordinal()] = new CandleSeries(k, interval);
+            }
+            return bars;
+        });
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.entities.Execution;
+import com.example.ExchangeService.ExchangeService.entities.Order;
+import com.example.ExchangeService.ExchangeService.enums.OrderStatusE;
+import com.example.ExchangeService.ExchangeService.events.ExecutionReport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-user drop copy of engine output. Each user gets a sequenced channel that remembers its last
+// history-size reports, so a reconnecting client resumes from the last sequence it saw instead of
+// polling the database. Reports are appended on the matching thread.
+@Service
+@Slf4j
+public class DropCopyService {
+
+    // Every channel gets its own epoch, so a client can tell a restart or an evicted and recreated
+    // channel (both restart the sequence at 1) from a plain gap. Seeded from the clock so epochs
+    // differ across restarts.
+    private final AtomicLong nextEpoch = new AtomicLong(System.currentTimeMillis() * 1_000);
+    private final Map<String, UserChannel> channels = new ConcurrentHashMap<>();
+    private final int historySize;
+    private final int subscriberBuffer;
+    private final int maxUsers;
+    private final long idleEvictMs;
+
+    public DropCopyService(int historySize, int subscriberBuffer, int maxUsers) {
+        this(historySize, subscriberBuffer, maxUsers, 60_000);
+    }
+
+    @Autowired
+    public DropCopyService(@Value("${dropcopy.history-size:256}") int historySize,
+                           @Value("${dropcopy.subscriber-buffer:1024}") int subscriberBuffer,
+                           @Value("${dropcopy.max-users:100000}") int maxUsers,
+                           @Value("${dropcopy.idle-evict-ms:60000}") long idleEvictMs) {
+        this.historySize = historySize;
+        this.subscriberBuffer = subscriberBuffer;
+        this.maxUsers = maxUsers;
+        this.idleEvictMs = idleEvictMs;
+    }
+
+    public void publish(Order order, Execution execution, OrderStatusE status) {
+        // Orders without a user still match; there is just nobody to copy the fill to
+        if (order.getUserId() == null) {
+            return;
+        }
+        UserChannel channel = channel(order.getUserId());
+        String counterId = execution.getOrderId() != null && order.getId() == execution.getOrderId()
+                ? String.valueOf(execution.getCounterOrderId())
+                : String.valueOf(execution.getOrderId());
+
+        ExecutionReport report = ExecutionReport.builder()
+                .userId(order.getUserId())
+                .sequence(++channel.sequence)
+                .orderId(order.getOrderId())
+                .counterOrderId(counterId)
+                .symbol(order.getInstrumentId())
+                .side(order.getOrderSide().name())
+                .type(order.getOrderType().name())
+                .status(status)
+                .quantity(order.getQuantity())
+                .filledQuantity(order.getFilledQuantity())
+                .lastQuantity(execution.getQuantity())
+                .lastPrice(execution.getPrice())
+                .executedAt(execution.getExecutedAt())
+                .build();
+        channel.lastActivity = System.currentTimeMillis();
+        channel.reports.tryEmitNext(report);
+    }
+
+    // SSE view of a user's channel. Event ids are "<epoch>:<sequence>"; given the client's
+    // Last-Event-ID the stream resumes after it, or starts with a "reset" event (then everything
+    // retained) when reports were lost: the id is from another epoch, is ahead of the channel,
+    // or what followed it is no longer retained.
+    public Flux<ServerSentEvent<ExecutionReport>> stream(String userId, String lastEventId) {
+        UserChannel channel = channel(userId);
+        String epoch = String.valueOf(channel.epoch);
+        long fromSequence = 0;
+        boolean reset = false;
+        if (lastEventId != null) {
+            long seen = seenSequence(lastEventId, epoch);
+            if (seen < 0 || seen > channel.sequence) {
+                reset = true;
+            } else {
+                fromSequence = seen;
+                reset = seen + 1 < oldestRetained(channel);
+            }
+        }
+        Flux<ServerSentEvent<ExecutionReport>> reports = subscribe(channel, fromSequence)
+                .map(report -> ServerSentEvent.builder(report)
+                        .id(epoch + ":" + report.getSequence())
+                        .event("execution")
+                        .build());
+        if (reset) {
+            return Flux.concat(Flux.just(ServerSentEvent.<ExecutionReport>builder().event("reset").build()), reports);
+        }
+        return reports;
+    }
+
+    // Sequence from a Last-Event-ID of this epoch, -1 for anything else
+    private static long seenSequence(String lastEventId, String epoch) {
+        String[] parts = lastEventId.split(":");
+        if (parts.length != 2 || !parts[0].equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Reports after fromSequence (0 for everything still retained), then live ones. A subscriber
+    // that overflows its buffer is disconnected and is expected to resume from its last sequence.
+    public Flux<ExecutionReport> subscribe(String userId, long fromSequence) {
+        return subscribe(channel(userId), fromSequence);
+    }
+
+    private Flux<ExecutionReport> subscribe(UserChannel channel, long fromSequence) {
+        return channel.reports.asFlux()
+                .filter(report -> report.getSequence() > fromSequence)
+                .onBackpressureBuffer(subscriberBuffer);
+    }
+
+    // Lowest sequence still replayable; a client behind this has missed reports and must resync
+    public long getOldestRetainedSequence(String userId) {
+        UserChannel channel = channels.get(userId);
+        return channel != null ? oldestRetained(channel) : 1;
+    }
+
+    private long oldestRetained(UserChannel channel) {
+        return Math.max(1, channel.sequence - historySize + 1);
+    }
+
+    private UserChannel channel(String userId) {
+        UserChannel channel = channels.get(userId);
+        if (channel == null) {
+            if (channels.size() >= maxUsers) {
+                evictIdleChannels();
+            }
+            channel = channels.computeIfAbsent(userId, k -> new UserChannel(nextEpoch.incrementAndGet(), historySize));
+        }
+        return channel;
+    }
+
+    // Drops channels nobody is listening to, oldest activity first, until back under the cap
+    private void evictIdleChannels() {
+        long cutoff = System.currentTimeMillis() - idleEvictMs;
+        Iterator<UserChannel> iterator = channels.values().iterator();
+        while (iterator.hasNext() && channels.size() >= maxUsers) {
+            UserChannel channel = iterator.next();
+            if (channel.reports.currentSubscriberCount() == 0 && channel.lastActivity < cutoff) {
+                iterator.remove();
+            }
+        }
+        log.debug("Drop copy channels after eviction: {}", channels.size());
+    }
+
+    private static class UserChannel {
+        private final long epoch;
+        private final Sinks.Many<ExecutionReport> reports;
+        private volatile long sequence;      // written by the matching thread only
+        private volatile long lastActivity = System.currentTimeMillis();
+
+        private UserChannel(long epoch, int historySize) {
+            this.epoch = epoch;
+            this.reports = Sinks.many().replay().limit(historySize);
+        }
+    }
+}
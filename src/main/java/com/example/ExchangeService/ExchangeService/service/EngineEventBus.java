@@ -0,0 +1,128 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.entities.Execution;
+import com.example.ExchangeService.ExchangeService.events.TradeTick;
+import com.example.ExchangeService.ExchangeService.utils.BookSnapshot;
+import com.example.ExchangeService.ExchangeService.utils.Instrument;
+import com.example.ExchangeService.ExchangeService.utils.InstrumentRegistry;
+import com.example.ExchangeService.ExchangeService.utils.TradeResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// In-process bus on the engine's output. The matching thread only appends to a bounded ingress
+// buffer; a separate fan-out thread routes events to per-instrument channels by id, and every
+// subscriber reads through its own bounded buffer, so no subscriber can slow the matcher down.
+@Service
+@Slf4j
+public class EngineEventBus {
+
+    private final Sinks.Many<Object> ingress = Sinks.many().multicast().directBestEffort();
+    private final InstrumentRegistry instrumentRegistry;
+    private final AtomicReferenceArray<SymbolChannel> channels;
+    private final Scheduler fanout = Schedulers.newSingle("engine-fanout", true);
+    private final AtomicLong droppedAtIngress = new AtomicLong();
+    private final int subscriberBuffer;
+    private final Disposable pump;
+
+    public EngineEventBus(InstrumentRegistry instrumentRegistry,
+                          @Value("${marketstream.ingress-buffer:65536}") int ingressBuffer,
+                          @Value("${marketstream.subscriber-buffer:256}") int subscriberBuffer) {
+        this.instrumentRegistry = instrumentRegistry;
+        this.channels = new AtomicReferenceArray<>(instrumentRegistry.getCapacity());
+        this.subscriberBuffer = subscriberBuffer;
+        this.pump = ingress.asFlux()
+                .onBackpressureBuffer(ingressBuffer, dropped -> droppedAtIngress.incrementAndGet(),
+                        BufferOverflowStrategy.DROP_OLDEST)
+                .publishOn(fanout)
+                .subscribe(this::dispatch, e -> log.error("Engine event fan-out stopped", e));
+    }
+
+    // Called from the matching thread once per processed order
+    public void publish(Instrument instrument, List<TradeResult> tradeResults, BookSnapshot snapshot) {
+        for (TradeResult result : tradeResults) {
+            Execution execution = result.getExecution();
+            ingress.tryEmitNext(TradeTick.builder()
+                    .instrumentId(instrument.getId())
+                    .symbol(instrument.getSymbol())
+                    .price(execution.getPrice())
+                    .quantity(execution.getQuantity())
+                    .aggressorSide(execution.getSide())
+                    .executedAt(execution.getExecutedAt())
+                    .build());
+        }
+        if (snapshot != null) {
+            ingress.tryEmitNext(snapshot);
+        }
+    }
+
+    // Trades for one symbol; a subscriber that falls behind loses its oldest buffered prints.
+    // Symbols the registry does not know get an empty stream and no channel.
+    public Flux<TradeTick> trades(String symbol) {
+        Instrument instrument = instrumentRegistry.find(symbol);
+        if (instrument == null) {
+            return Flux.empty();
+        }
+        return channel(instrument.getId()).trades.asFlux()
+                .onBackpressureBuffer(subscriberBuffer, BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    // Best bid/offer for one symbol, starting with the current one; slow subscribers only see the latest
+    public Flux<BookSnapshot> topOfBook(String symbol) {
+        Instrument instrument = instrumentRegistry.find(symbol);
+        if (instrument == null) {
+            return Flux.empty();
+        }
+        return channel(instrument.getId()).topOfBook.asFlux()
+                .onBackpressureLatest();
+    }
+
+    public long getDroppedAtIngress() {
+        return droppedAtIngress.get();
+    }
+
+    private void dispatch(Object event) {
+        if (event instanceof TradeTick tick) {
+            channel(tick.getInstrumentId()).trades.tryEmitNext(tick);
+        } else if (event instanceof BookSnapshot snapshot) {
+            SymbolChannel channel = channel(snapshot.getInstrumentId());
+            if (snapshot.getVersion() != channel.lastTopOfBookVersion) {
+                channel.lastTopOfBookVersion = snapshot.getVersion();
+                channel.topOfBook.tryEmitNext(snapshot.limitDepth(0));
+            }
+        }
+    }
+
+    // One channel per registered instrument, created on first use by either side
+    private SymbolChannel channel(int id) {
+        SymbolChannel channel = channels.get(id);
+        if (channel == null) {
+            channels.compareAndSet(id, null, new SymbolChannel());
+            channel = channels.get(id);
+        }
+        return channel;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pump.dispose();
+        fanout.dispose();
+    }
+
+    private static class SymbolChannel {
+        private final Sinks.Many<TradeTick> trades = Sinks.many().multicast().directBestEffort();
+        private final Sinks.Many<BookSnapshot> topOfBook = Sinks.many().replay().latest();
+        private long lastTopOfBookVersion = -1;  // fan-out thread only
+    }
+}
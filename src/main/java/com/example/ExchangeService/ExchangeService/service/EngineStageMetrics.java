@@ -0,0 +1,67 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.enums.EngineStage;
+import com.example.ExchangeService.ExchangeService.enums.OrderType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Per-stage latency of the order path. Every meter is built up front, so recording on the
+// matching thread is a map lookup and a histogram increment, with no tag or meter allocation.
+@Component
+public class EngineStageMetrics {
+
+    private final Map<EngineStage, Timer> stages = new EnumMap<>(EngineStage.class);
+    private final Map<OrderType, Counter> orders = new EnumMap<>(OrderType.class);
+    private final Counter fills;
+    private final Counter duplicates;
+    private final Counter rejected;
+
+    public EngineStageMetrics(MeterRegistry meterRegistry,
+                              @Value("${metrics.engine.max-expected-ms:1000}") long maxExpectedMs) {
+        for (EngineStage stage : EngineStage.values()) {
+            stages.put(stage, Timer.builder("engine.stage.latency")
+                    .tag("stage", stage.getTag())
+                    .publishPercentiles(0.5, 0.99, 0.999)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(1_000))
+                    .maximumExpectedValue(Duration.ofMillis(maxExpectedMs))
+                    .register(meterRegistry));
+        }
+        for (OrderType type : OrderType.values()) {
+            orders.put(type, Counter.builder("engine.orders")
+                    .tag("type", type.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        fills = Counter.builder("engine.fills").register(meterRegistry);
+        duplicates = Counter.builder("engine.orders.duplicate").register(meterRegistry);
+        rejected = Counter.builder("engine.orders.rejected").register(meterRegistry);
+    }
+
+    public void record(EngineStage stage, long nanos) {
+        stages.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void orderReceived(OrderType type) {
+        if (type != null) orders.get(type).increment();
+    }
+
+    public void fills(int count) {
+        if (count > 0) fills.increment(count);
+    }
+
+    public void duplicate() {
+        duplicates.increment();
+    }
+
+    public void rejected() {
+        rejected.increment();
+    }
+}
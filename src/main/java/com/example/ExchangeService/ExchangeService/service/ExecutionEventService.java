@@ -5,15 +5,14 @@ import com.example.ExchangeService.ExchangeService.entities.Order;
 import com.example.ExchangeService.ExchangeService.enums.OrderStatusE;
 import com.example.ExchangeService.ExchangeService.events.EventEnvelope;
 import com.example.ExchangeService.ExchangeService.events.OrderExecutedEvent;
+import com.example.ExchangeService.ExchangeService.utils.EngineClock;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.time.Instant;
 import java.time.format.DateTimeFormatter;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -21,12 +20,13 @@ import java.util.UUID;
 public class ExecutionEventService {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final EngineClock engineClock;
     private static final String Order_Topic = "execution.v1";
 
     public void publishOrderExecution(Order order, Execution execution) {
         DateTimeFormatter formatter = DateTimeFormatter.ISO_INSTANT;
         // Determining counterOrderId for this order
-        String counterId = order.getOrderId().equals(String.valueOf(execution.getOrderId()))
+        String counterId = execution.getOrderId() != null && order.getId() == execution.getOrderId()
                 ? String.valueOf(execution.getCounterOrderId())
                 : String.valueOf(execution.getOrderId());
 
@@ -41,20 +41,47 @@ public class ExecutionEventService {
                 .price(execution.getPrice())
                 .notionalValue(execution.getPrice().multiply(BigDecimal.valueOf(order.getFilledQuantity())))
                 .status(getStatusString(order))
-                .executedAt(Instant.now())
+                .executedAt(engineClock.now())
                 .build();
 
         EventEnvelope<Object> envelope = EventEnvelope.builder()
                 .eventType("OrderStatusUpdated")
                 .schemaVersion("v1")
-                .correlationId(UUID.randomUUID().toString())
+                .correlationId(engineClock.nextId())
                 .producer("exchange-service")
                 .payload(payload)
-                .timeStamp(Instant.now())
+                .timeStamp(engineClock.now())
                 .build();
 
         kafkaTemplate.send(Order_Topic, envelope);
-        log.info("Published OrderExecutionEvent to Kafka: {}", envelope);
+        log.debug("Published OrderExecutionEvent to Kafka: {}", envelope);
+    }
+
+    public void publishOrderRejected(Order order, String reason) {
+        OrderExecutedEvent payload = OrderExecutedEvent.builder()
+                .orderId(order.getOrderId())
+                .userId(order.getUserId())
+                .symbol(order.getInstrumentId())
+                .side(order.getOrderSide() != null ? order.getOrderSide().name() : null)
+                .type(order.getOrderType() != null ? order.getOrderType().name() : null)
+                .quantity(order.getQuantity())
+                .price(order.getPrice())
+                .status(OrderStatusE.REJECTED.name())
+                .reason(reason)
+                .executedAt(engineClock.now())
+                .build();
+
+        EventEnvelope<Object> envelope = EventEnvelope.builder()
+                .eventType("OrderRejected")
+                .schemaVersion("v1")
+                .correlationId(engineClock.nextId())
+                .producer("exchange-service")
+                .payload(payload)
+                .timeStamp(engineClock.now())
+                .build();
+
+        kafkaTemplate.send(Order_Topic, envelope);
+        log.debug("Published OrderRejected to Kafka: {}", envelope);
     }
 
     private String getStatusString(Order order) {
@@ -0,0 +1,10 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.entities.Execution;
+
+// In-process consumer of every execution, called on the matching thread in trade order.
+// Implementations must be O(1) per call and must not block.
+public interface ExecutionListener {
+
+    void onExecution(Execution execution);
+}
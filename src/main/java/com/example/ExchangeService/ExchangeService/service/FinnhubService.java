@@ -1,18 +1,21 @@
 package com.example.ExchangeService.ExchangeService.service;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 @Service
-public class FinnhubService {
+@ConditionalOnProperty(name = "quotes.provider", havingValue = "finnhub", matchIfMissing = true)
+public class FinnhubService implements QuoteProvider {
 
     @Value("${finnhub.api.key}")
     private String apiKey;
 
     private final WebClient webClient = WebClient.create("https://finnhub.io/api/v1");
 
+    @Override
     public Mono<String> getStockQuote(String symbol) {
         return webClient.get()
                 .uri(uriBuilder -> uriBuilder
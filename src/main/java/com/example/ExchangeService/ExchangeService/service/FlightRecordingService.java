@@ -0,0 +1,103 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// On-demand JFR recordings. The exchange.* events cost a disabled-check per order until one runs.
+@Service
+@Slf4j
+public class FlightRecordingService {
+
+    private final Path recordingDir;
+    private final Duration maxDuration;
+
+    public FlightRecordingService(@Value("${admin.dump-dir:dumps}") String recordingDir,
+                                  @Value("${admin.jfr.max-duration-s:900}") long maxDurationSeconds) {
+        this.recordingDir = Paths.get(recordingDir);
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+    }
+
+    // Starts a recording with a JDK settings preset ("default" or "profile") plus every exchange event
+    public Map<String, Object> start(Duration duration, String settings) throws IOException, ParseException {
+        if (duration.isZero() || duration.isNegative() || duration.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("duration must be between 1s and " + maxDuration.toSeconds() + "s");
+        }
+        Recording recording = new Recording(Configuration.getConfiguration(settings));
+        recording.enable("exchange.OrderReceived");
+        recording.enable("exchange.OrderMatched");
+        recording.enable("exchange.OrderPersisted");
+        recording.enable("exchange.OrderPublished");
+        recording.enable("exchange.StopCascade");
+        recording.setName("exchange-" + System.currentTimeMillis());
+        recording.setToDisk(true);
+        recording.setDuration(duration);
+        Files.createDirectories(recordingDir);
+        // Written automatically when the duration elapses
+        recording.setDestination(recordingDir.resolve(recording.getName() + ".jfr"));
+        recording.start();
+        log.info("Started JFR recording {} ({}, {})", recording.getId(), settings, duration);
+        return describe(recording);
+    }
+
+    public List<Map<String, Object>> list() {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream().map(this::describe).toList();
+    }
+
+    // Writes what has been recorded so far without stopping the recording
+    public Path dump(long id) throws IOException {
+        Recording recording = find(id);
+        if (recording == null) {
+            return null;
+        }
+        Files.createDirectories(recordingDir);
+        Path file = recordingDir.resolve(recording.getName() + "-" + System.currentTimeMillis() + ".jfr");
+        recording.dump(file);
+        return file;
+    }
+
+    // Stops early; the recording still lands at its destination
+    public Map<String, Object> stop(long id) {
+        Recording recording = find(id);
+        if (recording == null) {
+            return null;
+        }
+        recording.stop();
+        Map<String, Object> result = describe(recording);
+        recording.close();
+        return result;
+    }
+
+    private Recording find(long id) {
+        for (Recording recording : FlightRecorder.getFlightRecorder().getRecordings()) {
+            if (recording.getId() == id) {
+                return recording;
+            }
+        }
+        return null;
+    }
+
+    private Map<String, Object> describe(Recording recording) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", recording.getId());
+        result.put("name", recording.getName());
+        result.put("state", recording.getState().name());
+        result.put("startTime", String.valueOf(recording.getStartTime()));
+        result.put("duration", String.valueOf(recording.getDuration()));
+        result.put("destination", String.valueOf(recording.getDestination()));
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.Repositories.ExecutionRepository;
+import com.example.ExchangeService.ExchangeService.Repositories.ExecutionView;
+import com.example.ExchangeService.ExchangeService.Repositories.OrderStatusRepository;
+import com.example.ExchangeService.ExchangeService.Repositories.OrderStatusView;
+import com.example.ExchangeService.ExchangeService.enums.OrderStatusE;
+import com.example.ExchangeService.ExchangeService.events.KeysetPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+// Trade history and order-status listings. Cursors are "<sort key>_<id>" of the last row returned.
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class HistoryQueryService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Upper bounds for the first page; within the range of a MySQL DATETIME/TIMESTAMP parameter
+    private static final LocalDateTime FIRST_EXECUTED_AT = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final Instant FIRST_UPDATED_AT = FIRST_EXECUTED_AT.toInstant(ZoneOffset.UTC);
+
+    private final ExecutionRepository execRepo;
+    private final OrderStatusRepository statusRepo;
+
+    public KeysetPage<ExecutionView> getExecutionsByUser(String userId, String cursor, int limit) {
+        int size = pageSize(limit);
+        String[] key = parseCursor(cursor);
+        List<ExecutionView> rows = key == null
+                ? execRepo.findPageByUser(userId, FIRST_EXECUTED_AT, Long.MAX_VALUE, Limit.of(size))
+                : execRepo.findPageByUser(userId, LocalDateTime.parse(key[0]), Long.parseLong(key[1]), Limit.of(size));
+        return executionPage(rows, size);
+    }
+
+    public KeysetPage<ExecutionView> getExecutionsBySymbol(String symbol, String cursor, int limit) {
+        int size = pageSize(limit);
+        String[] key = parseCursor(cursor);
+        List<ExecutionView> rows = key == null
+                ? execRepo.findPageBySymbol(symbol, FIRST_EXECUTED_AT, Long.MAX_VALUE, Limit.of(size))
+                : execRepo.findPageBySymbol(symbol, LocalDateTime.parse(key[0]), Long.parseLong(key[1]), Limit.of(size));
+        return executionPage(rows, size);
+    }
+
+    public KeysetPage<OrderStatusView> getOrdersByStatus(OrderStatusE status, String cursor, int limit) {
+        int size = pageSize(limit);
+        String[] key = parseCursor(cursor);
+        List<OrderStatusView> rows = key == null
+                ? statusRepo.findPageByStatus(status, FIRST_UPDATED_AT, Long.MAX_VALUE, Limit.of(size))
+                : statusRepo.findPageByStatus(status, Instant.parse(key[0]), Long.parseLong(key[1]), Limit.of(size));
+        OrderStatusView last = rows.size() == size ? rows.get(rows.size() - 1) : null;
+        return new KeysetPage<>(rows, last != null ? last.getUpdatedAt() + "_" + last.getOrderId() : null);
+    }
+
+    private KeysetPage<ExecutionView> executionPage(List<ExecutionView> rows, int size) {
+        ExecutionView last = rows.size() == size ? rows.get(rows.size() - 1) : null;
+        return new KeysetPage<>(rows, last != null ? last.getExecutedAt() + "_" + last.getId() : null);
+    }
+
+    private int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private String[] parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        int split = cursor.lastIndexOf('_');
+        if (split <= 0) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        }
+        String[] key = {cursor.substring(0, split), cursor.substring(split + 1)};
+        try {
+            Long.parseLong(key[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.enums.OrderSide;
+import com.example.ExchangeService.ExchangeService.events.EventEnvelope;
+import com.example.ExchangeService.ExchangeService.events.MarketDataEvent;
+import com.example.ExchangeService.ExchangeService.events.PriceLevelUpdate;
+import com.example.ExchangeService.ExchangeService.utils.BookSnapshot;
+import com.example.ExchangeService.ExchangeService.utils.EngineClock;
+import com.example.ExchangeService.ExchangeService.utils.Instrument;
+import com.example.ExchangeService.ExchangeService.utils.InstrumentRegistry;
+import com.example.ExchangeService.ExchangeService.utils.MarketDepth;
+import com.example.ExchangeService.ExchangeService.utils.OrderBook;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+@Service
+@Slf4j
+public class MarketDataService {
+
+    private static final String MarketData_Topic = "marketdata.v1";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final int bookDepth;
+    private final EngineClock engineClock;
+    private final InstrumentRegistry instrumentRegistry;
+
+    // Feed state by instrument id, only touched from the matching thread
+    private final FeedState[] feeds;
+
+    // Latest published read view by instrument id, replaced wholesale (copy-on-write) by the matching thread
+    private final AtomicReferenceArray<BookSnapshot> snapshots;
+
+    public MarketDataService(KafkaTemplate<String, Object> kafkaTemplate,
+                             @Value("${marketdata.book-depth:20}") int bookDepth,
+                             EngineClock engineClock,
+                             InstrumentRegistry instrumentRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.bookDepth = bookDepth;
+        this.engineClock = engineClock;
+        this.instrumentRegistry = instrumentRegistry;
+        this.feeds = new FeedState[instrumentRegistry.getCapacity()];
+        this.snapshots = new AtomicReferenceArray<>(instrumentRegistry.getCapacity());
+    }
+
+    // Readers resolve the symbol here; the matching thread never does
+    public BookSnapshot getSnapshot(String symbol) {
+        Instrument instrument = instrumentRegistry.find(symbol);
+        return instrument != null ? snapshots.get(instrument.getId()) : null;
+    }
+
+    public Collection<BookSnapshot> getSnapshots() {
+        int size = instrumentRegistry.size();
+        List<BookSnapshot> result = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) {
+            BookSnapshot snapshot = snapshots.get(id);
+            if (snapshot != null) {
+                result.add(snapshot);
+            }
+        }
+        return result;
+    }
+
+    // Called once per processed order: all level changes it caused go out as a single delta.
+    // Returns the current read view so the caller can hand it on without looking it up again.
+    public BookSnapshot onBookChanged(Instrument instrument, OrderBook orderBook) {
+        String symbol = instrument.getSymbol();
+        int id = instrument.getId();
+        FeedState feed = feed(id);
+        MarketDepth depth = orderBook.getDepth();
+
+        boolean changed = false;
+        if (depth.hasChanges()) {
+            List<PriceLevelUpdate> updates = depth.drainChanges();
+            if (!updates.isEmpty()) {
+                feed.sequence++;
+                changed = true;
+                MarketDataEvent delta = topOfBook(symbol, feed.sequence, "DELTA", orderBook);
+                delta.setUpdates(updates);
+                send(symbol, "MarketDataDelta", delta, engineClock.nextId(), engineClock.now());
+            }
+        }
+        BookSnapshot current = snapshots.get(id);
+        if (changed || current == null) {
+            current = buildSnapshot(instrument, feed.sequence, orderBook);
+            snapshots.set(id, current);
+        }
+        return current;
+    }
+
+    // Every instrument's current read view goes out on a timer, so a consumer joining a quiet book
+    // still gets a baseline within one interval. Runs off the matching thread and only reads the
+    // published, depth-capped snapshots, never the live book.
+    @Scheduled(fixedRateString = "${marketdata.snapshot-interval-ms:5000}")
+    public void publishSnapshots() {
+        int size = instrumentRegistry.size();
+        for (int id = 0; id < size; id++) {
+            BookSnapshot view = snapshots.get(id);
+            if (view == null) continue;
+            MarketDataEvent snapshot = MarketDataEvent.builder()
+                    .symbol(view.getSymbol())
+                    .type("SNAPSHOT")
+                    .sequence(view.getVersion())
+                    .bestBid(view.getBestBid())
+                    .bestBidQuantity(view.getBestBidQuantity())
+                    .bestAsk(view.getBestAsk())
+                    .bestAskQuantity(view.getBestAskQuantity())
+                    .lastTradedPrice(view.getLastTradedPrice())
+                    .bids(view.getBids())
+                    .asks(view.getAsks())
+                    .build();
+            send(view.getSymbol(), "MarketDataSnapshot", snapshot,
+                    "snapshot-" + view.getSymbol() + "-" + view.getVersion(), Instant.now());
+        }
+    }
+
+    private FeedState feed(int id) {
+        FeedState feed = feeds[id];
+        if (feed == null) {
+            feed = feeds[id] = new FeedState();
+        }
+        return feed;
+    }
+
+    private BookSnapshot buildSnapshot(Instrument instrument, long version, OrderBook orderBook) {
+        MarketDepth depth = orderBook.getDepth();
+        Map.Entry<BigDecimal, Long> bestBid = depth.getBest(OrderSide.BUY);
+        Map.Entry<BigDecimal, Long> bestAsk = depth.getBest(OrderSide.SELL);
+        return BookSnapshot.builder()
+                .instrumentId(instrument.getId())
+                .symbol(instrument.getSymbol())
+                .version(version)
+                .bestBid(bestBid != null ? bestBid.getKey() : null)
+                .bestBidQuantity(bestBid != null ? bestBid.getValue() : 0)
+                .bestAsk(bestAsk != null ? bestAsk.getKey() : null)
+                .bestAskQuantity(bestAsk != null ? bestAsk.getValue() : 0)
+                .lastTradedPrice(orderBook.getLastTradedPrice())
+                .bids(Collections.unmodifiableList(depth.getLevels(OrderSide.BUY, bookDepth)))
+                .asks(Collections.unmodifiableList(depth.getLevels(OrderSide.SELL, bookDepth)))
+                .publishedAt(engineClock.now())
+                .build();
+    }
+
+    private MarketDataEvent topOfBook(String symbol, long sequence, String type, OrderBook orderBook) {
+        Map.Entry<BigDecimal, Long> bestBid = orderBook.getDepth().getBest(OrderSide.BUY);
+        Map.Entry<BigDecimal, Long> bestAsk = orderBook.getDepth().getBest(OrderSide.SELL);
+        return MarketDataEvent.builder()
+                .symbol(symbol)
+                .type(type)
+                .sequence(sequence)
+                .bestBid(bestBid != null ? bestBid.getKey() : null)
+                .bestBidQuantity(bestBid != null ? bestBid.getValue() : 0)
+                .bestAsk(bestAsk != null ? bestAsk.getKey() : null)
+                .bestAskQuantity(bestAsk != null ? bestAsk.getValue() : 0)
+                .lastTradedPrice(orderBook.getLastTradedPrice())
+                .build();
+    }
+
+    private void send(String symbol, String eventType, MarketDataEvent payload, String correlationId, Instant timeStamp) {
+        EventEnvelope<Object> envelope = EventEnvelope.builder()
+                .eventType(eventType)
+                .schemaVersion("v1")
+                .correlationId(correlationId)
+                .producer("exchange-service")
+                .payload(payload)
+                .timeStamp(timeStamp)
+                .build();
+        // Keyed by symbol so every consumer sees one symbol's sequence in order
+        kafkaTemplate.send(MarketData_Topic, symbol, envelope);
+        log.debug("Published {} {} seq {}", eventType, symbol, payload.getSequence());
+    }
+
+    private static class FeedState {
+        private long sequence;
+    }
+}
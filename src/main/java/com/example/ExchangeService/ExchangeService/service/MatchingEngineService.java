@@ -2,44 +2,81 @@ package com.example.ExchangeService.ExchangeService.service;
 
 import com.example.ExchangeService.ExchangeService.entities.Execution;
 import com.example.ExchangeService.ExchangeService.entities.Order;
-import com.example.ExchangeService.ExchangeService.Repositories.ExecutionRepository;
-import com.example.ExchangeService.ExchangeService.Repositories.OrderStatusRepository;
-import com.example.ExchangeService.ExchangeService.Repositories.ProcessedEventsRepository;
 import com.example.ExchangeService.ExchangeService.entities.OrderStatus;
-import com.example.ExchangeService.ExchangeService.entities.ProcessedEvent;
+import com.example.ExchangeService.ExchangeService.enums.EngineStage;
 import com.example.ExchangeService.ExchangeService.enums.OrderStatusE;
 import com.example.ExchangeService.ExchangeService.enums.TimeInForce;
 import com.example.ExchangeService.ExchangeService.events.OrderPlacedEvent;
+import com.example.ExchangeService.ExchangeService.jfr.OrderMatchedEvent;
+import com.example.ExchangeService.ExchangeService.jfr.OrderPersistedEvent;
+import com.example.ExchangeService.ExchangeService.jfr.OrderPublishedEvent;
+import com.example.ExchangeService.ExchangeService.persistence.EnginePersistence;
 import java.time.Instant;
+import com.example.ExchangeService.ExchangeService.utils.BookSnapshot;
+import com.example.ExchangeService.ExchangeService.utils.EngineClock;
+import com.example.ExchangeService.ExchangeService.utils.Instrument;
+import com.example.ExchangeService.ExchangeService.utils.InstrumentRegistry;
 import com.example.ExchangeService.ExchangeService.utils.OrderBook;
 import com.example.ExchangeService.ExchangeService.utils.TradeResult;
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class MatchingEngineService {
 
-    private final ExecutionRepository execRepo;
-    private final OrderStatusRepository statusRepo;
-    private final ProcessedEventsRepository eventsRepo;
+    private final EnginePersistence persistence;
     private final ExecutionEventService kafkaProducerService;
+    private final MarketDataService marketDataService;
+    private final OrderBookMetrics orderBookMetrics;
+    private final EngineEventBus engineEventBus;
+    private final DropCopyService dropCopyService;
+    private final List<ExecutionListener> executionListeners;
+    private final OrderStatusService orderStatusService;
+    private final EngineStageMetrics stageMetrics;
+    private final EngineClock engineClock;
+    private final InstrumentRegistry instrumentRegistry;
 
-    private final Map<String, OrderBook> orderBooks = new ConcurrentHashMap<>();
+    // Indexed by instrument id; written only by the matching thread, read by query threads
+    private final AtomicReferenceArray<OrderBook> orderBooks;
+
+    // One String instance per user, shared by all of that user's resting orders
+    private final Map<String, String> userIds = new ConcurrentHashMap<>();
+
+    public MatchingEngineService(EnginePersistence persistence, ExecutionEventService kafkaProducerService,
+                                 MarketDataService marketDataService, OrderBookMetrics orderBookMetrics,
+                                 EngineEventBus engineEventBus, DropCopyService dropCopyService,
+                                 List<ExecutionListener> executionListeners, OrderStatusService orderStatusService,
+                                 EngineStageMetrics stageMetrics, EngineClock engineClock,
+                                 InstrumentRegistry instrumentRegistry) {
+        this.persistence = persistence;
+        this.kafkaProducerService = kafkaProducerService;
+        this.marketDataService = marketDataService;
+        this.orderBookMetrics = orderBookMetrics;
+        this.engineEventBus = engineEventBus;
+        this.dropCopyService = dropCopyService;
+        this.executionListeners = executionListeners;
+        this.orderStatusService = orderStatusService;
+        this.stageMetrics = stageMetrics;
+        this.engineClock = engineClock;
+        this.instrumentRegistry = instrumentRegistry;
+        this.orderBooks = new AtomicReferenceArray<>(instrumentRegistry.getCapacity());
+    }
 
     public Order createOrderFromEvent(OrderPlacedEvent event) {
         Order order = new Order();
-        order.setOrderId(event.getOrderId());
-        order.setUserId(event.getUserId());
+        order.setId(parseOrderId(event.getOrderId()));
+        order.setUserId(event.getUserId() != null ? userIds.computeIfAbsent(event.getUserId(), id -> id) : null);
         order.setInstrumentId(event.getSymbol());
         order.setOrderSide(event.getSide());
         order.setOrderType(event.getType());
@@ -52,47 +89,190 @@ public class MatchingEngineService {
 
         if(event.getTimeInForce() != null) {
             order.setExpiryTime(event.getTimeInForce() == TimeInForce.GOOD_TILL_DATE
-            ? Instant.now().plus(1, ChronoUnit.HOURS) : null);
+            ? engineClock.now().plus(1, ChronoUnit.HOURS) : null);
         }
-        order.setTimeStamp(Instant.now());
+        order.setTimeStamp(engineClock.now());
+        order.setSequence(engineClock.getSequence());
         return order;
     }
 
     @Transactional
     public void process(String eventId, OrderPlacedEvent event) {
+        process(eventId, event, null);
+    }
+
+    // eventTime is the input's own timestamp (Kafka record time, captured arrival); null = wall clock
+    @Transactional
+    public void process(String eventId, OrderPlacedEvent event, Instant eventTime) {
+        long started = System.nanoTime();
         // Idempotency check
-        if (eventsRepo.existsById(eventId)) {
+        boolean duplicate = persistence.isProcessed(eventId);
+        long checked = System.nanoTime();
+        stageMetrics.record(EngineStage.IDEMPOTENCY, checked - started);
+        if (duplicate) {
+            stageMetrics.duplicate();
             log.warn("Duplicate event {} skipped", eventId);
             return;
         }
+        stageMetrics.orderReceived(event.getType());
+        if (eventTime != null) {
+            engineClock.tick(eventTime);
+        } else {
+            engineClock.tick();
+        }
         // Convert event -> Order domain object
         Order order = createOrderFromEvent(event);
         String symbol = event.getSymbol();
 
-        // Find or Create Order book for the particular symbol
-        OrderBook orderBook = orderBooks.computeIfAbsent(symbol, k -> new OrderBook());
+        // The only symbol lookup on the path: everything after this is indexed by instrument id
+        Instrument instrument = instrumentRegistry.resolve(symbol);
+        if (instrument == null) {
+            reject(eventId, order, "unknown symbol " + symbol);
+            return;
+        }
+        if (order.getId() <= 0) {
+            reject(eventId, order, "order id " + event.getOrderId() + " is not a positive number");
+            return;
+        }
+        order.setSymbolId(instrument.getId());
+        order.setInstrumentId(instrument.getSymbol());
+        OrderBook orderBook = orderBooks.get(instrument.getId());
+        String reason = instrument.validate(order, orderBook != null ? orderBook.getRawLastTradedPrice() : 0);
+        if (reason != null) {
+            reject(eventId, order, reason);
+            return;
+        }
+        if (orderBook == null) {
+            orderBook = newOrderBook(instrument);
+        }
+        OrderMatchedEvent matched = new OrderMatchedEvent();
+        matched.begin();
+        long matchStart = System.nanoTime();
         List<TradeResult> tradeResults = orderBook.addOrder(order);
+        stageMetrics.record(EngineStage.MATCH, System.nanoTime() - matchStart);
+        stageMetrics.fills(tradeResults.size());
+        matched.end();
+        if (matched.shouldCommit()) {
+            matched.orderId = order.getOrderId();
+            matched.symbol = symbol;
+            matched.fills = tradeResults.size();
+            matched.levelsSwept = levelsSwept(tradeResults);
+            matched.restingOrders = orderBook.getBuyOrders().size() + orderBook.getSellOrders().size();
+            matched.commit();
+        }
 
+        // Save and send time is summed over all fills and recorded once per order. The published event
+        // spans the whole fan-out, reports interleaved with saves, up to the market data hand-off.
+        OrderPublishedEvent published = new OrderPublishedEvent();
+        published.begin();
+        long persistNanos = 0;
+        long publishNanos = 0;
+        int statusUpdates = 0;
         for(TradeResult result: tradeResults) {
             Execution execution = result.getExecution();
-            execRepo.save(execution);
+            long t0 = System.nanoTime();
+            persistence.saveExecution(execution);
+            persistNanos += System.nanoTime() - t0;
+            for (ExecutionListener listener : executionListeners) {
+                listener.onExecution(execution);
+            }
 
             for(Order o: result.getOrdersInvolved()) {
                 OrderStatus status = new OrderStatus();
-                status.setOrderId(Long.parseLong(o.getOrderId()));
+                status.setOrderId(o.getId());
 
                 OrderStatusE orderStatus = determineOrderStatus(o);
                 status.setStatus(orderStatus);
                 status.setFilledQuantity(BigDecimal.valueOf(o.getFilledQuantity()));
-                status.setUpdatedAt(Instant.now());
-                statusRepo.save(status);
+                status.setUpdatedAt(engineClock.now());
+                long t1 = System.nanoTime();
+                persistence.saveOrderStatus(status);
+                long t2 = System.nanoTime();
                 // Publish combined event
                 kafkaProducerService.publishOrderExecution(o, execution);
-                log.info("Order {} status updated to {} (filled: {}/{})",
+                long t3 = System.nanoTime();
+                persistNanos += t2 - t1;
+                publishNanos += t3 - t2;
+                statusUpdates++;
+                dropCopyService.publish(o, execution, orderStatus);
+                orderStatusService.onOrderUpdated(o, orderStatus);
+                log.debug("Order {} status updated to {} (filled: {}/{})",
                         o.getOrderId(), orderStatus, o.getFilledQuantity(), o.getQuantity());
             }
         }
-        eventsRepo.save(new ProcessedEvent(eventId, Instant.now()));
+        if (tradeResults.isEmpty()) {
+            orderStatusService.onOrderUpdated(order, determineOrderStatus(order));
+        }
+        long marketDataStart = System.nanoTime();
+        BookSnapshot snapshot = marketDataService.onBookChanged(instrument, orderBook);
+        engineEventBus.publish(instrument, tradeResults, snapshot);
+        long t4 = System.nanoTime();
+        published.end();
+        OrderPersistedEvent persisted = new OrderPersistedEvent();
+        persisted.begin();
+        persistence.markProcessed(eventId, engineClock.now());
+        persistence.flush();
+        persisted.end();
+        long finished = System.nanoTime();
+        stageMetrics.record(EngineStage.PERSIST, persistNanos + (finished - t4));
+        stageMetrics.record(EngineStage.PUBLISH, publishNanos);
+
+        if (persisted.shouldCommit()) {
+            persisted.orderId = order.getOrderId();
+            persisted.executions = tradeResults.size();
+            persisted.statusUpdates = statusUpdates;
+            persisted.saveTime = persistNanos + (finished - t4);
+            persisted.commit();
+        }
+        if (published.shouldCommit()) {
+            published.orderId = order.getOrderId();
+            published.symbol = symbol;
+            published.executionReports = statusUpdates;
+            published.sendTime = publishNanos + (t4 - marketDataStart);
+            published.commit();
+        }
+    }
+
+    public OrderBook getOrderBook(String symbol) {
+        Instrument instrument = instrumentRegistry.find(symbol);
+        return instrument != null ? orderBooks.get(instrument.getId()) : null;
+    }
+
+    private OrderBook newOrderBook(Instrument instrument) {
+        OrderBook orderBook = new OrderBook(engineClock);
+        orderBookMetrics.register(instrument.getSymbol(), orderBook.getStats());
+        orderBooks.set(instrument.getId(), orderBook);
+        return orderBook;
+    }
+
+    // Rejected orders never reach a book; the status is reported and kept in memory only, the
+    // order_status table does not know the REJECTED value
+    private void reject(String eventId, Order order, String reason) {
+        stageMetrics.rejected();
+        log.warn("Order {} rejected: {}", order.getOrderId(), reason);
+        if (order.getId() > 0) {
+            orderStatusService.onOrderUpdated(order, OrderStatusE.REJECTED);
+        }
+        kafkaProducerService.publishOrderRejected(order, reason);
+        persistence.markProcessed(eventId, engineClock.now());
+        persistence.flush();
+    }
+
+    // Order ids are numeric end to end; anything else is rejected at ingress as id 0
+    private static long parseOrderId(String orderId) {
+        try {
+            return orderId != null ? Long.parseLong(orderId) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static int levelsSwept(List<TradeResult> tradeResults) {
+        Set<BigDecimal> prices = new HashSet<>();
+        for (TradeResult result : tradeResults) {
+            prices.add(result.getExecution().getPrice().stripTrailingZeros());
+        }
+        return prices.size();
     }
 
     OrderStatusE determineOrderStatus(Order order) {
@@ -0,0 +1,81 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.entities.Order;
+import com.example.ExchangeService.ExchangeService.utils.OrderBook;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Writes full book contents to a file on request, replacing the old per-order INFO dump
+@Service
+@Slf4j
+public class OrderBookDumpService {
+
+    private final MatchingEngineService matchingEngine;
+    private final Path dumpDir;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "orderbook-dump");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OrderBookDumpService(MatchingEngineService matchingEngine,
+                                @Value("${admin.dump-dir:dumps}") String dumpDir) {
+        this.matchingEngine = matchingEngine;
+        this.dumpDir = Paths.get(dumpDir);
+    }
+
+    // Copies the book on the caller's thread, then formats and writes it in the background
+    public Path requestDump(String symbol) {
+        OrderBook orderBook = matchingEngine.getOrderBook(symbol);
+        if (orderBook == null) {
+            return null;
+        }
+        Map<String, List<Order>> orders = orderBook.copyOrders();
+        String lastTradedPrice = String.valueOf(orderBook.getLastTradedPrice());
+        Path file = dumpDir.resolve("orderbook-" + symbol + "-" + System.currentTimeMillis() + ".log");
+
+        writer.submit(() -> write(file, symbol, orders, lastTradedPrice));
+        return file;
+    }
+
+    private void write(Path file, String symbol, Map<String, List<Order>> orders, String lastTradedPrice) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter out = Files.newBufferedWriter(file)) {
+                out.write("===== ORDER BOOK STATE " + symbol + " @ " + Instant.now() + " =====");
+                out.newLine();
+                for (Map.Entry<String, List<Order>> section : orders.entrySet()) {
+                    out.write(section.getKey() + " Orders (" + section.getValue().size() + "):");
+                    out.newLine();
+                    for (Order order : section.getValue()) {
+                        out.write(order.toString());
+                        out.newLine();
+                    }
+                }
+                out.write("Last Traded Price: " + lastTradedPrice);
+                out.newLine();
+            }
+            log.info("Order book dump for {} written to {}", symbol, file);
+        } catch (IOException e) {
+            log.error("Failed to write order book dump for {} to {}", symbol, file, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdown();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.utils.OrderBookStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// Exposes each book's running counters; meters read OrderBookStats directly, nothing walks the book
+@Component
+@RequiredArgsConstructor
+public class OrderBookMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public void register(String symbol, OrderBookStats stats) {
+        Tags buy = Tags.of("symbol", symbol, "side", "buy");
+        Tags sell = Tags.of("symbol", symbol, "side", "sell");
+
+        Gauge.builder("orderbook.orders", stats, OrderBookStats::getBuyOrders).tags(buy).register(meterRegistry);
+        Gauge.builder("orderbook.orders", stats, OrderBookStats::getSellOrders).tags(sell).register(meterRegistry);
+        Gauge.builder("orderbook.levels", stats, OrderBookStats::getBidLevels).tags(buy).register(meterRegistry);
+        Gauge.builder("orderbook.levels", stats, OrderBookStats::getAskLevels).tags(sell).register(meterRegistry);
+        Gauge.builder("orderbook.notional", stats, OrderBookStats::getBidNotional).tags(buy).register(meterRegistry);
+        Gauge.builder("orderbook.notional", stats, OrderBookStats::getAskNotional).tags(sell).register(meterRegistry);
+        Gauge.builder("orderbook.stop.orders", stats, OrderBookStats::getStopOrders)
+                .tag("symbol", symbol).register(meterRegistry);
+        Gauge.builder("orderbook.waiting.market.orders", stats, OrderBookStats::getWaitingMarketOrders)
+                .tag("symbol", symbol).register(meterRegistry);
+        FunctionCounter.builder("orderbook.trades", stats, OrderBookStats::getTradesExecuted)
+                .tag("symbol", symbol).register(meterRegistry);
+        FunctionCounter.builder("orderbook.stops.triggered", stats, OrderBookStats::getStopsTriggered)
+                .tag("symbol", symbol).register(meterRegistry);
+        FunctionCounter.builder("orderbook.market.orders.parked", stats, OrderBookStats::getMarketOrdersParked)
+                .tag("symbol", symbol).register(meterRegistry);
+    }
+}
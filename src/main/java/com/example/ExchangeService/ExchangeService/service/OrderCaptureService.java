@@ -0,0 +1,119 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.entities.Execution;
+import com.example.ExchangeService.ExchangeService.utils.CaptureFile;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Capture mode: raw inbound envelopes plus the executions they produced, for offline replay.
+// Writes happen on the listener/matching thread into a buffered stream; locking is uncontended
+// except when an admin call starts or stops a capture.
+@Service
+@Slf4j
+public class OrderCaptureService implements ExecutionListener {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path captureDir;
+    private final boolean startOnBoot;
+    private volatile CaptureFile.Writer writer;
+
+    public OrderCaptureService(@Value("${capture.dir:data/capture}") String captureDir,
+                               @Value("${capture.enabled:false}") boolean startOnBoot) {
+        this.captureDir = Paths.get(captureDir);
+        this.startOnBoot = startOnBoot;
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        if (startOnBoot) {
+            start();
+        }
+    }
+
+    public synchronized Map<String, Object> start() throws IOException {
+        if (writer == null) {
+            Files.createDirectories(captureDir);
+            Path file = captureDir.resolve("orders-" + LocalDateTime.now().format(FILE_TIME) + ".ocap");
+            writer = new CaptureFile.Writer(file);
+            log.info("Order capture started: {}", file);
+        }
+        return describe();
+    }
+
+    public synchronized Map<String, Object> stop() throws IOException {
+        Map<String, Object> result = describe();
+        if (writer != null) {
+            writer.close();
+            log.info("Order capture stopped: {} ({} records)", writer.getPath(), writer.getRecords());
+            writer = null;
+            result.put("capturing", false);
+        }
+        return result;
+    }
+
+    public synchronized Map<String, Object> describe() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("capturing", writer != null);
+        if (writer != null) {
+            result.put("file", writer.getPath().toString());
+            result.put("records", writer.getRecords());
+        }
+        return result;
+    }
+
+    public void onRecord(ConsumerRecord<String, String> record) {
+        if (writer == null) return; // racy fast path; re-checked under the lock
+        synchronized (this) {
+            if (writer == null) return;
+            try {
+                writer.writeOrder(record.partition(), record.offset(), record.timestamp(), record.value());
+            } catch (IOException e) {
+                abandon(e);
+            }
+        }
+    }
+
+    @Override
+    public void onExecution(Execution execution) {
+        if (writer == null) return;
+        synchronized (this) {
+            if (writer == null) return;
+            try {
+                writer.writeExecution(execution.getOrderId(), execution.getCounterOrderId(),
+                        execution.getPrice().toPlainString(), execution.getQuantity().toPlainString());
+            } catch (IOException e) {
+                abandon(e);
+            }
+        }
+    }
+
+    // A failing disk must not stall matching: drop the capture and carry on
+    private void abandon(IOException e) {
+        log.error("Order capture to {} failed, capture stopped", writer.getPath(), e);
+        try {
+            writer.close();
+        } catch (IOException ignored) {
+            // already failing
+        }
+        writer = null;
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        stop();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.entities.Order;
+import com.example.ExchangeService.ExchangeService.entities.OrderStatus;
+import com.example.ExchangeService.ExchangeService.enums.OrderStatusE;
+import com.example.ExchangeService.ExchangeService.events.OrderState;
+import com.example.ExchangeService.ExchangeService.persistence.EnginePersistence;
+import com.example.ExchangeService.ExchangeService.utils.EngineClock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Read-through order status lookups: live orders are answered from the engine's own Order instances,
+// recently filled ones from a bounded LRU, and only the rest from the engine's persistence.
+@Service
+@Slf4j
+public class OrderStatusService {
+
+    private final EnginePersistence persistence;
+    private final EngineClock engineClock;
+
+    // Every order the engine still holds (resting, stop or waiting), written only by the matching thread.
+    // These are the book's Order objects, not copies, so a resting order costs one map entry here and its
+    // status is derived on read. Readers on other threads may see a fill that is a moment old.
+    private final Map<Long, Order> live = new ConcurrentHashMap<>();
+
+    // Access-ordered LRU of orders that reached a terminal status; only these get an OrderState
+    private final Map<Long, OrderState> terminal;
+
+    public OrderStatusService(EnginePersistence persistence,
+                              @Value("${orderstatus.terminal-cache-size:100000}") int terminalCacheSize,
+                              EngineClock engineClock) {
+        this.persistence = persistence;
+        this.engineClock = engineClock;
+        this.terminal = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, OrderState> eldest) {
+                return size() > terminalCacheSize;
+            }
+        };
+    }
+
+    // Called by the matching thread whenever an order is accepted or filled
+    public void onOrderUpdated(Order order, OrderStatusE status) {
+        if (status == OrderStatusE.FILLED || status == OrderStatusE.REJECTED) {
+            OrderState state = toState(order, status, engineClock.now());
+            synchronized (terminal) {
+                terminal.put(order.getId(), state);
+            }
+            live.remove(order.getId());
+        } else {
+            live.put(order.getId(), order);
+        }
+    }
+
+    public OrderState getStatus(String orderId) {
+        List<OrderState> result = getStatuses(List.of(orderId));
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    // Unknown ids are left out; everything not held in memory is read in a single query
+    public List<OrderState> getStatuses(Collection<String> orderIds) {
+        List<OrderState> result = new ArrayList<>(orderIds.size());
+        List<Long> misses = new ArrayList<>();
+        for (String orderId : orderIds) {
+            long id;
+            try {
+                id = Long.parseLong(orderId);
+            } catch (NumberFormatException e) {
+                log.debug("Skipping non-numeric order id {}", orderId);
+                continue;
+            }
+            Order order = live.get(id);
+            OrderState state = order != null ? liveState(order) : null;
+            if (state == null) {
+                synchronized (terminal) {
+                    state = terminal.get(id);
+                }
+            }
+            if (state != null) {
+                result.add(state);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (OrderStatus row : persistence.findOrderStatuses(misses)) {
+                OrderState state = OrderState.builder()
+                        .orderId(String.valueOf(row.getOrderId()))
+                        .status(row.getStatus())
+                        .filledQuantity(row.getFilledQuantity())
+                        .updatedAt(row.getUpdatedAt())
+                        .build();
+                // Only terminal rows are final; anything else may be stale after a restart
+                if (state.getStatus() == OrderStatusE.FILLED || state.getStatus() == OrderStatusE.REJECTED) {
+                    synchronized (terminal) {
+                        terminal.put(row.getOrderId(), state);
+                    }
+                }
+                result.add(state);
+            }
+        }
+        return result;
+    }
+
+    // Live orders carry no update time of their own, so they report when they were placed
+    private static OrderState liveState(Order order) {
+        OrderStatusE status = order.getFilledQuantity() > 0 ? OrderStatusE.PARTIALLY_FILLED : OrderStatusE.PENDING;
+        return toState(order, status, order.getTimeStamp());
+    }
+
+    private static OrderState toState(Order order, OrderStatusE status, Instant updatedAt) {
+        return OrderState.builder()
+                .orderId(order.getOrderId())
+                .symbol(order.getInstrumentId())
+                .status(status)
+                .quantity(order.getQuantity())
+                .filledQuantity(BigDecimal.valueOf(order.getFilledQuantity()))
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    public int getLiveCount() {
+        return live.size();
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.ExchangeService.ExchangeService.service;
 
+import com.example.ExchangeService.ExchangeService.enums.EngineStage;
 import com.example.ExchangeService.ExchangeService.events.EventEnvelope;
 import com.example.ExchangeService.ExchangeService.events.OrderPlacedEvent;
+import com.example.ExchangeService.ExchangeService.jfr.OrderReceivedEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -12,32 +14,52 @@ import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
 @Component
 @Slf4j
 public class OrdersEventConsumer {
 
+    public static final String LISTENER_ID = "orders-consumer";
+
     private final MatchingEngineService matchingEngine;
+    private final EngineStageMetrics stageMetrics;
+    private final OrderCaptureService captureService;
 
     private final ObjectMapper objectMapper = new ObjectMapper()
             .registerModule(new JavaTimeModule())
             .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
-    public OrdersEventConsumer(MatchingEngineService matchingEngine) {
+    public OrdersEventConsumer(MatchingEngineService matchingEngine, EngineStageMetrics stageMetrics,
+                               OrderCaptureService captureService) {
         this.matchingEngine = matchingEngine;
+        this.stageMetrics = stageMetrics;
+        this.captureService = captureService;
     }
 
+    // Not auto-started: WarmupService starts it once the JIT warm-up has finished
     @KafkaListener(
+            id = LISTENER_ID,
+            autoStartup = "false",
             topics = "orders.v1",
             groupId = "exchange-service",
             containerFactory = "stringKafkaListenerContainerFactory"
     )
     public void onMessage(ConsumerRecord<String, String> record) {
+        long received = System.nanoTime();
+        OrderReceivedEvent receivedEvent = new OrderReceivedEvent();
+        receivedEvent.begin();
+        // Record timestamps are wall-clock millis, so this stage only has millisecond resolution
+        long queuedMs = System.currentTimeMillis() - record.timestamp();
+        if (queuedMs >= 0) stageMetrics.record(EngineStage.POLL, TimeUnit.MILLISECONDS.toNanos(queuedMs));
+        captureService.onRecord(record);
         String key = record.key();
         String message = record.value();
         int partition = record.partition();
         long offset = record.offset();
 
-        log.info("Received message - Key: {}, Partition: {}, Offset: {}",
+        log.debug("Received message - Key: {}, Partition: {}, Offset: {}",
                 key, partition, offset);
 
         log.debug("Raw message content: {}", message);
@@ -49,32 +71,53 @@ public class OrdersEventConsumer {
 
             // Switch by event type
             if (envelope.getEventType().equals("OrderPlaced")) {
-                handleOrderPlacedEvent(envelope);
+                handleOrderPlacedEvent(envelope, received, receivedEvent, record);
             } else {
                 log.warn("Unknown event type: {}", envelope.getEventType());
-                handleOrderPlacedEvent(envelope);
+                handleOrderPlacedEvent(envelope, received, receivedEvent, record);
             }
+            stageMetrics.record(EngineStage.TOTAL, System.nanoTime() - received);
         } catch (JsonProcessingException e) {
             log.error("Error parsing JSON message: {}", message, e);
         } catch (Exception e) {
             log.error("Error processing message: {}", message, e);
         }
     }
-    private void handleOrderPlacedEvent(EventEnvelope<Object> eventEnvelope) {
+    // Same mapper and steps as the listener, so warm-up fills the mapper's deserializer caches
+    public OrderPlacedEvent decode(String message) throws JsonProcessingException {
+        EventEnvelope<Object> envelope = objectMapper.readValue(message, new TypeReference<EventEnvelope<Object>>() {});
+        return objectMapper.convertValue(envelope.getPayload(), OrderPlacedEvent.class);
+    }
+
+    private void handleOrderPlacedEvent(EventEnvelope<Object> eventEnvelope, long received,
+                                        OrderReceivedEvent receivedEvent, ConsumerRecord<String, String> record) {
         try {
-            log.info("Raw payload: {}", eventEnvelope.getPayload());
+            log.debug("Raw payload: {}", eventEnvelope.getPayload());
 
             OrderPlacedEvent orderPayload = objectMapper.convertValue(
                     eventEnvelope.getPayload(),
                     OrderPlacedEvent.class
             );
+            stageMetrics.record(EngineStage.PARSE, System.nanoTime() - received);
+            receivedEvent.end();
+            if (receivedEvent.shouldCommit()) {
+                receivedEvent.orderId = orderPayload.getOrderId();
+                receivedEvent.symbol = orderPayload.getSymbol();
+                receivedEvent.side = String.valueOf(orderPayload.getSide());
+                receivedEvent.type = String.valueOf(orderPayload.getType());
+                receivedEvent.quantity = orderPayload.getQuantity();
+                receivedEvent.partition = record.partition();
+                receivedEvent.offset = record.offset();
+                receivedEvent.commit();
+            }
 
-            log.info("Processing OrderPlaced event - OrderId: {}, UserId: {}, Symbol: {}, Side: {}",
+            log.debug("Processing OrderPlaced event - OrderId: {}, UserId: {}, Symbol: {}, Side: {}",
                     orderPayload.getOrderId(),
                     orderPayload.getUserId(),
                     orderPayload.getSymbol(),
                     orderPayload.getSide());
-            matchingEngine.process(orderPayload.getOrderId(), orderPayload);
+            // The record timestamp is the engine time for this order, so a replay sees the same clock
+            matchingEngine.process(orderPayload.getOrderId(), orderPayload, Instant.ofEpochMilli(record.timestamp()));
         } catch (Exception e) {
             log.error("Error processing OrderPlaced event", e);
         }
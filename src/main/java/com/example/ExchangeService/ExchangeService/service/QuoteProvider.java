@@ -0,0 +1,9 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import reactor.core.publisher.Mono;
+
+// Source of raw quote JSON for one symbol; selected with quotes.provider
+public interface QuoteProvider {
+
+    Mono<String> getStockQuote(String symbol);
+}
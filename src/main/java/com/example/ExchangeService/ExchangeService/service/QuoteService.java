@@ -0,0 +1,59 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Caching front for the quote provider. Each symbol maps to one cached Mono: callers arriving while
+// a fetch is in flight share it, a value is reused until its TTL runs out, and errors are not cached.
+@Service
+@Slf4j
+public class QuoteService {
+
+    private final QuoteProvider quoteProvider;
+    private final Duration ttl;
+    private final int concurrency;
+    private final Map<String, Mono<String>> cache;
+
+    public QuoteService(QuoteProvider quoteProvider,
+                        @Value("${quotes.cache.ttl-ms:2000}") long ttlMs,
+                        @Value("${quotes.cache.max-size:1000}") int maxSize,
+                        @Value("${quotes.concurrency:8}") int concurrency) {
+        this.quoteProvider = quoteProvider;
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.concurrency = concurrency;
+        // Access-ordered LRU, bounded to maxSize symbols
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Mono<String>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public Mono<String> getQuote(String symbol) {
+        synchronized (cache) {
+            return cache.computeIfAbsent(symbol, k -> quoteProvider.getStockQuote(k)
+                    .cache(value -> ttl, error -> Duration.ZERO, () -> Duration.ZERO));
+        }
+    }
+
+    // Fetches all symbols concurrently; symbols whose fetch fails are left out of the result
+    public Mono<Map<String, String>> getQuotes(List<String> symbols) {
+        return Flux.fromIterable(symbols)
+                .flatMapSequential(symbol -> getQuote(symbol)
+                        .map(quote -> Map.entry(symbol, quote))
+                        .onErrorResume(e -> {
+                            log.warn("Quote fetch failed for {}: {}", symbol, e.getMessage());
+                            return Mono.empty();
+                        }), concurrency)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// One upstream poller shared by every quote subscriber. It runs only while someone is listening,
+// and late subscribers get the latest quotes immediately instead of waiting for the next poll.
+@Service
+@Slf4j
+public class QuoteStreamService {
+
+    private final QuoteService quoteService;
+    private final List<String> symbols;
+    private final Flux<Map<String, String>> quotes;
+    private final int keyframeEvery;
+
+    public QuoteStreamService(QuoteService quoteService,
+                              @Value("${stocks.symbols}") String symbolsStr,
+                              @Value("${stocks.poll-interval-ms:5000}") long pollIntervalMs,
+                              @Value("${stocks.keyframe-every:12}") int keyframeEvery) {
+        this.quoteService = quoteService;
+        this.keyframeEvery = Math.max(1, keyframeEvery);
+        this.symbols = Arrays.stream(symbolsStr.split(","))
+                .map(String::trim)
+                .collect(Collectors.toList());
+        this.quotes = Flux.interval(Duration.ZERO, Duration.ofMillis(pollIntervalMs))
+                .onBackpressureDrop()
+                .concatMap(tick -> quoteService.getQuotes(symbols), 1)
+                .doOnSubscribe(s -> log.info("Starting shared quote poller for {}", symbols))
+                .doFinally(signal -> log.info("Stopped shared quote poller ({})", signal))
+                .replay(1)
+                .refCount();
+    }
+
+    public Flux<Map<String, String>> getQuotes() {
+        return quotes;
+    }
+
+    public List<String> getSymbols() {
+        return symbols;
+    }
+
+    // Per-client view of the shared stream: a full keyframe first and every keyframeEvery polls
+    // (sent even when nothing changed, so a client that missed a delta resyncs on a quiet stream),
+    // otherwise only the symbols whose quote changed. A slow client skips straight to the newest
+    // state, and the next delta is computed against what it actually received.
+    public Flux<ServerSentEvent<Map<String, String>>> getQuoteDeltas(Collection<String> subset) {
+        Set<String> wanted = subset == null || subset.isEmpty() ? null : new HashSet<>(subset);
+        return Flux.defer(() -> {
+            Map<String, String> lastSent = new HashMap<>();
+            long[] polls = {0};
+            long[] frame = {0};     // SSE id, counts frames actually sent
+            return quotes
+                    .map(all -> wanted == null ? all : filter(all, wanted))
+                    .onBackpressureLatest()
+                    .handle((current, sink) -> {
+                        boolean keyframe = polls[0]++ % keyframeEvery == 0;
+                        Map<String, String> payload = keyframe ? current : changed(lastSent, current);
+                        lastSent.clear();
+                        lastSent.putAll(current);
+                        if (!keyframe && payload.isEmpty()) {
+                            return;
+                        }
+                        sink.next(ServerSentEvent.builder(payload)
+                                .id(String.valueOf(frame[0]++))
+                                .event(keyframe ? "keyframe" : "delta")
+                                .build());
+                    });
+        });
+    }
+
+    private static Map<String, String> filter(Map<String, String> all, Set<String> wanted) {
+        Map<String, String> result = new LinkedHashMap<>();
+        all.forEach((symbol, quote) -> {
+            if (wanted.contains(symbol)) result.put(symbol, quote);
+        });
+        return result;
+    }
+
+    private static Map<String, String> changed(Map<String, String> previous, Map<String, String> current) {
+        Map<String, String> result = new LinkedHashMap<>();
+        current.forEach((symbol, quote) -> {
+            if (!quote.equals(previous.get(symbol))) result.put(symbol, quote);
+        });
+        return result;
+    }
+}
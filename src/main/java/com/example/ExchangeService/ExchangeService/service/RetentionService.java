@@ -0,0 +1,286 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+// Daily range partitions for executions: old days are archived to gzipped CSV and removed with
+// DROP PARTITION, so the table and its indexes only hold the retention window. MySQL requires the
+// partition column in every unique key, so partitioning widens the PK to (id, executed_at); ids
+// stay unique through AUTO_INCREMENT. Converting an existing table is an explicit opt-in
+// (retention.migrate-partitions), never a side effect of starting a node.
+// processed_events is not partitioned: dedupe relies on event_id being unique, which a partitioned
+// table cannot enforce, so expired rows are deleted in small batches instead.
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "retention.enabled", havingValue = "true")
+public class RetentionService {
+
+    private static final DateTimeFormatter PARTITION_DAY = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    // MySQL allows at most 8192 partitions per table
+    private static final int MAX_PARTITIONS = 8_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate archiveTemplate;
+    private final int executionsDays;
+    private final int processedEventsDays;
+    private final int precreateDays;
+    private final Path archiveDir;
+    private final boolean migratePartitions;
+    private final int deleteBatchSize;
+
+    public RetentionService(JdbcTemplate jdbcTemplate,
+                            @Value("${retention.executions-days:90}") int executionsDays,
+                            @Value("${retention.processed-events-days:7}") int processedEventsDays,
+                            @Value("${retention.precreate-days:3}") int precreateDays,
+                            @Value("${retention.archive-dir:archive}") String archiveDir,
+                            @Value("${retention.migrate-partitions:false}") boolean migratePartitions,
+                            @Value("${retention.delete-batch-size:10000}") int deleteBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        // MySQL Connector/J only streams rows instead of buffering the whole result with this fetch size
+        this.archiveTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.archiveTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.executionsDays = executionsDays;
+        this.processedEventsDays = processedEventsDays;
+        this.precreateDays = precreateDays;
+        this.archiveDir = Paths.get(archiveDir);
+        this.migratePartitions = migratePartitions;
+        this.deleteBatchSize = deleteBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${retention.cron:0 15 0 * * *}")
+    public void runMaintenance() {
+        LocalDate today = LocalDate.now();
+        maintain("executions", "id", "executed_at", executionsDays, true, today);
+        unpartitionProcessedEvents();
+        trimProcessedEvents(today);
+    }
+
+    // Earlier versions partitioned processed_events, which dropped the uniqueness of event_id
+    private void unpartitionProcessedEvents() {
+        try {
+            if (partitions("processed_events").isEmpty()) {
+                return;
+            }
+            if (!migratePartitions) {
+                log.warn("processed_events is partitioned and event_id is not unique; set retention.migrate-partitions=true to restore its key");
+                return;
+            }
+            log.info("Removing partitioning from processed_events and restoring its primary key");
+            jdbcTemplate.execute("ALTER TABLE processed_events REMOVE PARTITIONING");
+            jdbcTemplate.execute("ALTER TABLE processed_events DROP PRIMARY KEY, ADD PRIMARY KEY (event_id)");
+        } catch (DataAccessException e) {
+            log.error("Retention maintenance failed for processed_events", e);
+        }
+    }
+
+    private void maintain(String table, String idColumn, String dayColumn, int retentionDays, boolean archive, LocalDate today) {
+        try {
+            String expression = partitionExpression(table, dayColumn);
+            List<String> partitions = partitions(table);
+            if (partitions.isEmpty()) {
+                if (!migratePartitions) {
+                    log.warn("{} is not partitioned; set retention.migrate-partitions=true to convert it", table);
+                    return;
+                }
+                partition(table, idColumn, dayColumn, expression, today);
+                partitions = partitions(table);
+            }
+            for (LocalDate day : missingDays(partitions, today, precreateDays)) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION pmax INTO ("
+                        + " PARTITION " + partitionName(day) + " VALUES LESS THAN (" + bound(expression, day.plusDays(1)) + "),"
+                        + " PARTITION pmax VALUES LESS THAN MAXVALUE)");
+            }
+            for (String partition : expiredPartitions(partitions, today, retentionDays)) {
+                if (archive) {
+                    archivePartition(table, partition);
+                }
+                jdbcTemplate.execute("ALTER TABLE " + table + " DROP PARTITION " + partition);
+                log.info("Dropped partition {} of {}", partition, table);
+            }
+        } catch (DataAccessException | UncheckedIOException e) {
+            log.error("Retention maintenance failed for {}", table, e);
+        }
+    }
+
+    // One daily partition per day that already holds rows, so history lands in its own day and
+    // the expiry pass below archives and drops it on this same run
+    private void partition(String table, String idColumn, String dayColumn, String expression, LocalDate today) {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(" + dayColumn + ") FROM " + table, Timestamp.class);
+        List<LocalDate> days = initialPartitionDays(oldest != null ? oldest.toLocalDateTime().toLocalDate() : null, today);
+        if (days.size() > MAX_PARTITIONS) {
+            throw new IllegalStateException(table + " spans " + days.size() + " days, more than " + MAX_PARTITIONS + " partitions");
+        }
+        StringBuilder ddl = new StringBuilder("ALTER TABLE " + table + " DROP PRIMARY KEY, ADD PRIMARY KEY (")
+                .append(idColumn).append(", ").append(dayColumn).append(")")
+                .append(" PARTITION BY RANGE (").append(expression).append(") (");
+        for (LocalDate day : days) {
+            ddl.append(" PARTITION ").append(partitionName(day))
+                    .append(" VALUES LESS THAN (").append(bound(expression, day.plusDays(1))).append("),");
+        }
+        ddl.append(" PARTITION pmax VALUES LESS THAN MAXVALUE)");
+        log.info("Partitioning {} by day on {} from {} ({} partitions)", table, dayColumn, days.get(0), days.size());
+        jdbcTemplate.execute(ddl.toString());
+    }
+
+    // Deletes processed events older than the window in bounded batches, keeping each lock short
+    int trimProcessedEvents(LocalDate today) {
+        int deleted = 0;
+        try {
+            Timestamp cutoff = Timestamp.valueOf(today.minusDays(processedEventsDays).atStartOfDay());
+            int batch;
+            do {
+                batch = jdbcTemplate.update("DELETE FROM processed_events WHERE processed_at < ? LIMIT " + deleteBatchSize, cutoff);
+                deleted += batch;
+            } while (batch == deleteBatchSize);
+            if (deleted > 0) {
+                log.info("Deleted {} processed events older than {}", deleted, cutoff);
+            }
+        } catch (DataAccessException e) {
+            log.error("Retention maintenance failed for processed_events", e);
+        }
+        return deleted;
+    }
+
+    // Streams one partition to <archive-dir>/<table>-<day>.csv.gz; the file only appears once complete
+    private void archivePartition(String table, String partition) {
+        try {
+            Files.createDirectories(archiveDir);
+            Path target = archiveDir.resolve(table + "-" + partition.substring(1) + ".csv.gz");
+            Path tmp = archiveDir.resolve(target.getFileName() + ".tmp");
+            try (BufferedWriter out = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(tmp)), StandardCharsets.UTF_8))) {
+                archiveTemplate.query("SELECT * FROM " + table + " PARTITION (" + partition + ")", rs -> {
+                    try {
+                        ResultSetMetaData meta = rs.getMetaData();
+                        if (rs.getRow() == 1) {
+                            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                                out.write((i > 1 ? "," : "") + csvField(meta.getColumnLabel(i)));
+                            }
+                            out.newLine();
+                        }
+                        for (int i = 1; i <= meta.getColumnCount(); i++) {
+                            out.write((i > 1 ? "," : "") + csvField(rs.getString(i)));
+                        }
+                        out.newLine();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Archived partition {} of {} to {}", partition, table, target);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<String> partitions(String table) {
+        return jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS"
+                        + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL"
+                        + " ORDER BY PARTITION_ORDINAL_POSITION", String.class, table);
+    }
+
+    // TO_DAYS is only allowed on DATETIME/DATE; TIMESTAMP columns have to use UNIX_TIMESTAMP
+    private String partitionExpression(String table, String column) {
+        String type = jdbcTemplate.queryForObject(
+                "SELECT DATA_TYPE FROM information_schema.COLUMNS"
+                        + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?", String.class, table, column);
+        return "timestamp".equalsIgnoreCase(type) ? "UNIX_TIMESTAMP(" + column + ")" : "TO_DAYS(" + column + ")";
+    }
+
+    private String bound(String expression, LocalDate day) {
+        return expression.startsWith("UNIX_TIMESTAMP")
+                ? "UNIX_TIMESTAMP('" + day + " 00:00:00')"
+                : "TO_DAYS('" + day + "')";
+    }
+
+    // RFC 4180: fields with separators, quotes or line breaks are quoted, inner quotes doubled
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // Every day from the oldest row (or today for an empty table) through today
+    static List<LocalDate> initialPartitionDays(LocalDate oldest, LocalDate today) {
+        List<LocalDate> days = new ArrayList<>();
+        LocalDate first = oldest != null && oldest.isBefore(today) ? oldest : today;
+        for (LocalDate day = first; !day.isAfter(today); day = day.plusDays(1)) {
+            days.add(day);
+        }
+        return days;
+    }
+
+    static String partitionName(LocalDate day) {
+        return "p" + PARTITION_DAY.format(day);
+    }
+
+    // Days from today up to the precreate horizon that are past the newest daily partition
+    static List<LocalDate> missingDays(List<String> partitions, LocalDate today, int precreateDays) {
+        LocalDate newest = null;
+        for (String partition : partitions) {
+            LocalDate day = partitionDay(partition);
+            if (day != null && (newest == null || day.isAfter(newest))) {
+                newest = day;
+            }
+        }
+        List<LocalDate> missing = new ArrayList<>();
+        for (LocalDate day = today; !day.isAfter(today.plusDays(precreateDays)); day = day.plusDays(1)) {
+            if (newest == null || day.isAfter(newest)) {
+                missing.add(day);
+            }
+        }
+        return missing;
+    }
+
+    // Daily partitions whose whole day is older than the retention window
+    static List<String> expiredPartitions(List<String> partitions, LocalDate today, int retentionDays) {
+        LocalDate cutoff = today.minusDays(retentionDays);
+        List<String> expired = new ArrayList<>();
+        for (String partition : partitions) {
+            LocalDate day = partitionDay(partition);
+            if (day != null && day.isBefore(cutoff)) {
+                expired.add(partition);
+            }
+        }
+        return expired;
+    }
+
+    private static LocalDate partitionDay(String partition) {
+        if (partition.length() != 9 || partition.charAt(0) != 'p' || !Character.isDigit(partition.charAt(1))) {
+            return null;
+        }
+        return LocalDate.parse(partition.substring(1), PARTITION_DAY);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Logs where startup time went, once the node is ready (after warm-up), and exports each phase
+// as engine.startup.phase. Phase detail needs the BufferingApplicationStartup set up in main.
+@Service
+@Slf4j
+public class StartupReportService {
+
+    private static final int SLOWEST_BEANS = 10;
+
+    private final ApplicationStartup applicationStartup;
+    private final MeterRegistry meterRegistry;
+    private final WarmupService warmupService;
+
+    public StartupReportService(ApplicationStartup applicationStartup, MeterRegistry meterRegistry,
+                                WarmupService warmupService) {
+        this.applicationStartup = applicationStartup;
+        this.meterRegistry = meterRegistry;
+        this.warmupService = warmupService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void report(ApplicationReadyEvent event) {
+        long uptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        Duration toReady = event.getTimeTaken() != null ? event.getTimeTaken() : Duration.ZERO;
+        Duration warmup = Duration.ofNanos(warmupService.getDurationNanos());
+
+        Map<String, Duration> phases = new LinkedHashMap<>();
+        // JVM start and class loading up to SpringApplication.run
+        phases.put("jvm-to-main", Duration.ofMillis(uptimeMs).minus(toReady).minus(warmup));
+        List<StartupTimeline.TimelineEvent> timeline = List.of();
+        if (applicationStartup instanceof BufferingApplicationStartup buffering) {
+            timeline = buffering.getBufferedTimeline().getEvents();
+            for (StartupTimeline.TimelineEvent step : timeline) {
+                String name = step.getStartupStep().getName();
+                if (name.startsWith("spring.boot.application.") || name.equals("spring.context.refresh")) {
+                    phases.merge(name.replace("spring.boot.application.", "").replace("spring.", ""),
+                            step.getDuration(), Duration::plus);
+                }
+            }
+        }
+        phases.put("run-to-ready", toReady);
+        phases.put("warmup", warmup);
+        phases.put("total", Duration.ofMillis(uptimeMs));
+
+        StringBuilder report = new StringBuilder("Startup report");
+        for (Map.Entry<String, Duration> phase : phases.entrySet()) {
+            report.append("\n  ").append(String.format("%-24s %7d ms", phase.getKey(), phase.getValue().toMillis()));
+            long nanos = phase.getValue().toNanos();
+            TimeGauge.builder("engine.startup.phase", () -> nanos, TimeUnit.NANOSECONDS)
+                    .tag("phase", phase.getKey())
+                    .register(meterRegistry);
+        }
+        timeline.stream()
+                .filter(step -> step.getStartupStep().getName().equals("spring.beans.instantiate"))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(SLOWEST_BEANS)
+                .forEach(step -> report.append("\n  bean ").append(String.format("%-40s %5d ms",
+                        beanName(step.getStartupStep()), step.getDuration().toMillis())));
+        log.info(report.toString());
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (tag.getKey().equals("beanName")) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Offline provider for tests and local runs: a random walk per symbol in Finnhub's /quote shape
+@Service
+@ConditionalOnProperty(name = "quotes.provider", havingValue = "stub")
+public class StubQuoteProvider implements QuoteProvider {
+
+    private final Map<String, double[]> prices = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<String> getStockQuote(String symbol) {
+        return Mono.fromSupplier(() -> {
+            // open, high, low, current
+            double[] p = prices.computeIfAbsent(symbol, k -> {
+                double open = 50 + Math.abs(k.hashCode() % 450);
+                return new double[]{open, open, open, open};
+            });
+            synchronized (p) {
+                p[3] = Math.max(0.01, p[3] * (1 + ThreadLocalRandom.current().nextGaussian() * 0.002));
+                p[1] = Math.max(p[1], p[3]);
+                p[2] = Math.min(p[2], p[3]);
+                return String.format(Locale.ROOT,
+                        "{\"c\":%.2f,\"d\":%.2f,\"dp\":%.4f,\"h\":%.2f,\"l\":%.2f,\"o\":%.2f,\"pc\":%.2f,\"t\":%d}",
+                        p[3], p[3] - p[0], (p[3] - p[0]) / p[0] * 100, p[1], p[2], p[0], p[0],
+                        System.currentTimeMillis() / 1000);
+            }
+        });
+    }
+}
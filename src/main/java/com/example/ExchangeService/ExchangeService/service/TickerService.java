@@ -0,0 +1,86 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.entities.Execution;
+import com.example.ExchangeService.ExchangeService.events.EventEnvelope;
+import com.example.ExchangeService.ExchangeService.events.Ticker;
+import com.example.ExchangeService.ExchangeService.utils.RollingWindow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Rolling 24h ticker per symbol, updated per execution instead of re-aggregating the executions table
+@Service
+@Slf4j
+public class TickerService implements ExecutionListener {
+
+    private static final String Ticker_Topic = "ticker.v1";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final long windowMs;
+    private final int buckets;
+
+    private final Map<String, RollingWindow> windows = new ConcurrentHashMap<>();
+    private final Sinks.Many<List<Ticker>> broadcasts = Sinks.many().replay().latest();
+
+    public TickerService(KafkaTemplate<String, Object> kafkaTemplate,
+                         @Value("${ticker.window-ms:86400000}") long windowMs,
+                         @Value("${ticker.buckets:1440}") int buckets) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.windowMs = windowMs;
+        this.buckets = buckets;
+    }
+
+    @Override
+    public void onExecution(Execution execution) {
+        long timestamp = execution.getExecutedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        windows.computeIfAbsent(execution.getInstrumentSymbol(), k -> new RollingWindow(k, windowMs, buckets))
+                .onTrade(timestamp, execution.getPrice().doubleValue(), execution.getQuantity().longValue());
+    }
+
+    public Ticker getTicker(String symbol) {
+        RollingWindow window = windows.get(symbol);
+        return window != null ? window.snapshot(System.currentTimeMillis()) : null;
+    }
+
+    public List<Ticker> getTickers() {
+        long now = System.currentTimeMillis();
+        return windows.values().stream().map(window -> window.snapshot(now)).toList();
+    }
+
+    // Latest broadcast first, then every following one
+    public Flux<List<Ticker>> stream() {
+        return broadcasts.asFlux().onBackpressureLatest();
+    }
+
+    @Scheduled(fixedRateString = "${ticker.broadcast-interval-ms:1000}")
+    public void broadcast() {
+        if (windows.isEmpty()) {
+            return;
+        }
+        List<Ticker> tickers = getTickers();
+        broadcasts.tryEmitNext(tickers);
+        for (Ticker ticker : tickers) {
+            EventEnvelope<Object> envelope = EventEnvelope.builder()
+                    .eventType("Ticker")
+                    .schemaVersion("v1")
+                    .correlationId(UUID.randomUUID().toString())
+                    .producer("exchange-service")
+                    .payload(ticker)
+                    .timeStamp(Instant.now())
+                    .build();
+            kafkaTemplate.send(Ticker_Topic, ticker.getSymbol(), envelope);
+        }
+        log.debug("Broadcast {} tickers", tickers.size());
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.entities.Execution;
+import com.example.ExchangeService.ExchangeService.events.TapeTrade;
+import com.example.ExchangeService.ExchangeService.utils.TapeSegment;
+import com.example.ExchangeService.ExchangeService.utils.TapeVisitor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+// Append-only archive of every execution in daily memory-mapped segment files
+// (trades-<yyyyMMdd>-<n>.tape), so surveillance and backtests scan the tape instead of MySQL.
+// Symbols are stored as ids from symbols.txt in the same directory. Only the segment being written
+// is mapped; queries read older segments from disk and close them again.
+@Service
+@Slf4j
+public class TradeTapeService implements ExecutionListener {
+
+    private static final DateTimeFormatter FILE_DAY = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String SYMBOLS_FILE = "symbols.txt";
+
+    private final Path tapeDir;
+    private final int recordsPerSegment;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final Map<String, Integer> symbolIds = new ConcurrentHashMap<>();
+    private final List<String> symbols = new CopyOnWriteArrayList<>();
+
+    // Segment file name -> file; names sort by day, then sequence
+    private final NavigableMap<String, Path> segments = new ConcurrentSkipListMap<>();
+
+    // Replaced only by the matching thread; read by queries to scan the live segment in memory
+    private volatile TapeSegment current;
+    private LocalDate currentDay;
+
+    public TradeTapeService(@Value("${tape.dir:data/tape}") String tapeDir,
+                            @Value("${tape.records-per-segment:1000000}") int recordsPerSegment) {
+        this.tapeDir = Paths.get(tapeDir);
+        this.recordsPerSegment = recordsPerSegment;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(tapeDir);
+        Path symbolsFile = tapeDir.resolve(SYMBOLS_FILE);
+        if (Files.exists(symbolsFile)) {
+            for (String symbol : Files.readAllLines(symbolsFile, StandardCharsets.UTF_8)) {
+                symbolIds.put(symbol, symbols.size());
+                symbols.add(symbol);
+            }
+        }
+        try (Stream<Path> files = Files.list(tapeDir)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".tape")).toList()) {
+                segments.put(file.getFileName().toString(), file);
+            }
+        }
+        log.info("Trade tape opened with {} segments and {} symbols in {}", segments.size(), symbols.size(), tapeDir);
+    }
+
+    @Override
+    public void onExecution(Execution execution) {
+        long timestamp = execution.getExecutedAt().atZone(zone).toInstant().toEpochMilli();
+        try {
+            TapeSegment segment = segmentFor(timestamp);
+            segment.append(timestamp,
+                    symbolId(execution.getInstrumentSymbol()),
+                    execution.getOrderId() != null ? execution.getOrderId() : 0,
+                    execution.getCounterOrderId() != null ? execution.getCounterOrderId() : 0,
+                    "BUY".equals(execution.getSide()),
+                    execution.getPrice().doubleValue(),
+                    execution.getQuantity().longValue());
+        } catch (IOException e) {
+            log.error("Failed to append execution {} to the trade tape", execution.getId(), e);
+        }
+    }
+
+    // Scans trades of one symbol (all symbols when null) in [from, to] epoch millis, oldest segment first
+    public void scan(String symbol, long from, long to, TapeVisitor visitor) {
+        int symbolId = -1;
+        if (symbol != null) {
+            Integer id = symbolIds.get(symbol);
+            if (id == null) return;
+            symbolId = id;
+        }
+        String firstDay = FILE_DAY.format(Instant.ofEpochMilli(from).atZone(zone).toLocalDate());
+        String lastDay = FILE_DAY.format(Instant.ofEpochMilli(Math.min(to, Instant.now().toEpochMilli() + 86_400_000L))
+                .atZone(zone).toLocalDate());
+        for (Map.Entry<String, Path> entry : segments.subMap("trades-" + firstDay, true, "trades-" + lastDay + "~", true).entrySet()) {
+            TapeSegment live = current;
+            try {
+                boolean more = live != null && live.getPath().equals(entry.getValue())
+                        ? live.scan(symbolId, from, to, visitor)
+                        : TapeSegment.scan(entry.getValue(), symbolId, from, to, visitor);
+                if (!more) return;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read tape segment " + entry.getKey(), e);
+            }
+        }
+    }
+
+    public List<TapeTrade> query(String symbol, long from, long to, int limit) {
+        List<TapeTrade> trades = new ArrayList<>(Math.min(limit, 1024));
+        scan(symbol, from, to, (timestamp, symbolId, orderId, counterOrderId, buyAggressor, price, quantity) -> {
+            trades.add(TapeTrade.builder()
+                    .timestamp(timestamp)
+                    .symbol(symbols.get(symbolId))
+                    .orderId(orderId)
+                    .counterOrderId(counterOrderId)
+                    .aggressorSide(buyAggressor ? "BUY" : "SELL")
+                    .price(price)
+                    .quantity(quantity)
+                    .build());
+            return trades.size() < limit;
+        });
+        return trades;
+    }
+
+    @PreDestroy
+    public void close() {
+        TapeSegment segment = current;
+        if (segment != null) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("Failed to close tape segment {}", segment.getPath(), e);
+            }
+        }
+    }
+
+    // Rolls to a new file on a new day or when the current one is full
+    private TapeSegment segmentFor(long timestamp) throws IOException {
+        LocalDate day = Instant.ofEpochMilli(timestamp).atZone(zone).toLocalDate();
+        if (current != null && !current.isFull() && (currentDay.equals(day) || day.isBefore(currentDay))) {
+            return current;
+        }
+        if (current != null) {
+            current.close();
+        }
+        String prefix = "trades-" + FILE_DAY.format(day) + "-";
+        TapeSegment next = null;
+        Map.Entry<String, Path> last = segments.floorEntry(prefix + "~");
+        if (last != null && last.getKey().startsWith(prefix)) {
+            next = TapeSegment.open(last.getValue(), recordsPerSegment);
+            if (next.isFull()) {
+                next.close();
+                next = null;
+            }
+        }
+        if (next == null) {
+            int sequence = segments.subMap(prefix, prefix + "~").size();
+            String name = prefix + String.format("%03d", sequence) + ".tape";
+            next = TapeSegment.open(tapeDir.resolve(name), recordsPerSegment);
+            segments.put(name, next.getPath());
+            log.info("Trade tape rolled to {}", name);
+        }
+        current = next;
+        currentDay = day;
+        return next;
+    }
+
+    private int symbolId(String symbol) throws IOException {
+        Integer id = symbolIds.get(symbol);
+        if (id != null) {
+            return id;
+        }
+        Files.writeString(tapeDir.resolve(SYMBOLS_FILE), symbol + System.lineSeparator(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        symbols.add(symbol);
+        symbolIds.put(symbol, symbols.size() - 1);
+        return symbols.size() - 1;
+    }
+}
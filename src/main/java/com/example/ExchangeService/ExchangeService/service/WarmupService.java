@@ -0,0 +1,174 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.enums.OrderSide;
+import com.example.ExchangeService.ExchangeService.enums.OrderType;
+import com.example.ExchangeService.ExchangeService.events.EventEnvelope;
+import com.example.ExchangeService.ExchangeService.events.OrderPlacedEvent;
+import com.example.ExchangeService.ExchangeService.persistence.InMemoryEnginePersistence;
+import com.example.ExchangeService.ExchangeService.replay.DiscardingKafkaTemplate;
+import com.example.ExchangeService.ExchangeService.utils.EngineClock;
+import com.example.ExchangeService.ExchangeService.utils.InstrumentRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Pushes a synthetic order flow through a throwaway engine before the orders listener starts, so the
+// first real orders run on C2-compiled code instead of the interpreter. Runs on the ready event,
+// which holds back the readiness state until it is done. Nothing it builds outlives the run.
+@Service
+@Slf4j
+public class WarmupService {
+
+    private static final String[] SYMBOLS = {"WARM1", "WARM2", "WARM3", "WARM4"};
+
+    private final OrdersEventConsumer ordersConsumer;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final boolean enabled;
+    private final int orders;
+
+    private volatile double progress;
+    private volatile long durationNanos;
+    private volatile int processedOrders;  // went through the engine without throwing
+    private volatile long rejectedOrders;  // of those, turned away by validation
+    private volatile boolean failed;
+
+    public WarmupService(OrdersEventConsumer ordersConsumer,
+                         KafkaListenerEndpointRegistry listenerRegistry,
+                         MeterRegistry meterRegistry,
+                         @Value("${warmup.enabled:true}") boolean enabled,
+                         @Value("${warmup.orders:50000}") int orders) {
+        this.ordersConsumer = ordersConsumer;
+        this.listenerRegistry = listenerRegistry;
+        this.enabled = enabled;
+        this.orders = orders;
+        Gauge.builder("engine.warmup.progress", this, w -> w.progress).register(meterRegistry);
+        TimeGauge.builder("engine.warmup.duration", this, TimeUnit.NANOSECONDS, w -> w.durationNanos)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0) // before the startup report, which includes the warm-up
+    public void warmUpAndStart() {
+        if (enabled && orders > 0) {
+            long started = System.nanoTime();
+            try {
+                run();
+            } catch (Exception e) {
+                // A failed warm-up only costs latency, never availability
+                failed = true;
+                log.error("Warm-up failed after {} of {} orders, starting the consumer anyway",
+                        processedOrders, orders, e);
+            }
+            durationNanos = System.nanoTime() - started;
+            log.info("Warm-up of {} orders ({} rejected) finished in {} ms",
+                    processedOrders, rejectedOrders, TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        }
+        progress = 1.0;
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(OrdersEventConsumer.LISTENER_ID);
+        if (container != null && !container.isRunning()) {
+            container.start();
+        }
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public int getProcessedOrders() {
+        return processedOrders;
+    }
+
+    public long getRejectedOrders() {
+        return rejectedOrders;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    private void run() throws Exception {
+        ObjectMapper envelopeMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        InMemoryEnginePersistence persistence = new InMemoryEnginePersistence();
+        // Outbound envelopes go through the same JsonSerializer the real producer uses, then get dropped
+        DiscardingKafkaTemplate kafka = new DiscardingKafkaTemplate(new JsonSerializer<>());
+        InstrumentRegistry instrumentRegistry = InstrumentRegistry.open(64);
+        EngineEventBus engineEventBus = new EngineEventBus(instrumentRegistry, 1_024, 16);
+        EngineClock engineClock = new EngineClock();
+        SimpleMeterRegistry engineMeters = new SimpleMeterRegistry();
+        MatchingEngineService engine = new MatchingEngineService(persistence,
+                new ExecutionEventService(kafka, engineClock), new MarketDataService(kafka, 20, engineClock, instrumentRegistry),
+                new OrderBookMetrics(new SimpleMeterRegistry()), engineEventBus,
+                new DropCopyService(16, 16, 1_000), List.of(), new OrderStatusService(persistence, 1_000, engineClock),
+                new EngineStageMetrics(engineMeters, 1_000), engineClock,
+                instrumentRegistry);
+
+        SplittableRandom random = new SplittableRandom(7);
+        try {
+            for (int i = 1; i <= orders; i++) {
+                String message = envelopeMapper.writeValueAsString(syntheticOrder(i, random));
+                OrderPlacedEvent event = ordersConsumer.decode(message);
+                engine.process(event.getOrderId(), event, Instant.now());
+                processedOrders = i;
+                if (i % 10_000 == 0) {
+                    persistence.clear(); // keep the heap flat on long warm-ups
+                }
+                if (i % 1_000 == 0) {
+                    progress = (double) i / orders;
+                }
+            }
+        } finally {
+            rejectedOrders = (long) engineMeters.get("engine.orders.rejected").counter().count();
+            engineEventBus.shutdown();
+        }
+    }
+
+    // Mostly limits around a mid so books both rest and cross, with some market and stop orders
+    private static EventEnvelope<Object> syntheticOrder(int i, SplittableRandom random) {
+        OrderPlacedEvent order = new OrderPlacedEvent();
+        order.setOrderId(String.valueOf(i));
+        order.setUserId("warmup" + random.nextInt(100));
+        order.setSymbol(SYMBOLS[random.nextInt(SYMBOLS.length)]);
+        order.setSide(random.nextBoolean() ? OrderSide.BUY : OrderSide.SELL);
+        order.setQuantity(1 + random.nextInt(100));
+        int kind = random.nextInt(20);
+        double price = 100.0 + (random.nextInt(41) - 20) / 100.0;
+        if (kind == 0) {
+            order.setType(OrderType.MARKET);
+        } else if (kind == 1) {
+            order.setType(OrderType.STOP_LIMIT);
+            order.setPrice(price);
+            order.setStopPrice(order.getSide() == OrderSide.BUY ? price + 0.1 : price - 0.1);
+        } else {
+            order.setType(OrderType.LIMIT);
+            order.setPrice(price);
+        }
+        return EventEnvelope.builder()
+                .eventType("OrderPlaced")
+                .schemaVersion("v1")
+                .correlationId("warmup-" + i)
+                .producer("warmup")
+                .payload(order)
+                .timeStamp(Instant.now())
+                .build();
+    }
+}
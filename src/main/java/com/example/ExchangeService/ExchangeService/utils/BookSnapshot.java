@@ -0,0 +1,39 @@
+package com.example.ExchangeService.ExchangeService.utils;
+
+import com.example.ExchangeService.ExchangeService.events.PriceLevel;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+// Immutable copy of one book's top levels. Built by the matching thread and swapped in whole,
+// so readers never see a half-applied order and never touch the live queues.
+@Value
+@Builder(toBuilder = true)
+public class BookSnapshot {
+    @JsonIgnore
+    int instrumentId;           // routing key on the engine's bus
+    String symbol;
+    long version;               // market data sequence this snapshot reflects
+    BigDecimal bestBid;
+    long bestBidQuantity;
+    BigDecimal bestAsk;
+    long bestAskQuantity;
+    BigDecimal lastTradedPrice;
+    List<PriceLevel> bids;
+    List<PriceLevel> asks;
+    Instant publishedAt;
+
+    public BookSnapshot limitDepth(int levels) {
+        if (bids.size() <= levels && asks.size() <= levels) {
+            return this;
+        }
+        return toBuilder()
+                .bids(bids.subList(0, Math.min(levels, bids.size())))
+                .asks(asks.subList(0, Math.min(levels, asks.size())))
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.ExchangeService.ExchangeService.utils;
+
+import com.example.ExchangeService.ExchangeService.enums.CandleInterval;
+import com.example.ExchangeService.ExchangeService.events.Candle;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// OHLCV bars for one symbol and interval in fixed-size primitive ring buffers. Updating the current
+// bar is O(1) and allocation-free; once the ring is full the oldest bar is overwritten.
+public class CandleSeries {
+
+    private final String symbol;
+    private final CandleInterval interval;
+    private final int capacity;
+
+    private final long[] openTime;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final long[] volume;
+    private final int[] trades;
+
+    private int head = -1;          // newest bar
+    private int size;
+    private boolean headClosed;
+
+    public CandleSeries(String symbol, CandleInterval interval) {
+        this.symbol = symbol;
+        this.interval = interval;
+        this.capacity = interval.getCapacity();
+        this.openTime = new long[capacity];
+        this.open = new double[capacity];
+        this.high = new double[capacity];
+        this.low = new double[capacity];
+        this.close = new double[capacity];
+        this.volume = new long[capacity];
+        this.trades = new int[capacity];
+    }
+
+    // Applies one trade; returns the previous bar if this trade is the first one after it closed
+    // and it has not been reported as closed yet
+    public synchronized Candle onTrade(long timestamp, double price, long quantity) {
+        long bucket = timestamp - Math.floorMod(timestamp, interval.getMillis());
+        if (size > 0 && bucket <= openTime[head]) {
+            // Same bar, or a slightly late trade which is folded into the newest bar
+            high[head] = Math.max(high[head], price);
+            low[head] = Math.min(low[head], price);
+            close[head] = price;
+            volume[head] += quantity;
+            trades[head]++;
+            return null;
+        }
+        Candle closedBar = size > 0 && !headClosed ? toCandle(head, true) : null;
+        head = (head + 1) % capacity;
+        if (size < capacity) size++;
+        openTime[head] = bucket;
+        open[head] = price;
+        high[head] = price;
+        low[head] = price;
+        close[head] = price;
+        volume[head] = quantity;
+        trades[head] = 1;
+        headClosed = false;
+        return closedBar;
+    }
+
+    // Closes the newest bar once its period is over, even if no further trade arrives
+    public synchronized Candle closeIfDue(long now) {
+        if (size == 0 || headClosed || now < openTime[head] + interval.getMillis()) {
+            return null;
+        }
+        headClosed = true;
+        return toCandle(head, true);
+    }
+
+    // Bars with openTime in [from, to], oldest first, at most limit of the newest ones
+    public synchronized List<Candle> getCandles(long from, long to, int limit) {
+        List<Candle> result = new ArrayList<>(Math.min(limit, size));
+        for (int i = 0; i < size && result.size() < limit; i++) {
+            int index = Math.floorMod(head - i, capacity);
+            if (openTime[index] > to) continue;
+            if (openTime[index] < from) break;
+            result.add(toCandle(index, index != head || headClosed));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    public synchronized void writeTo(DataOutput out) throws IOException {
+        out.writeUTF(symbol);
+        out.writeUTF(interval.name());
+        out.writeInt(size);
+        out.writeBoolean(headClosed);
+        for (int i = size - 1; i >= 0; i--) {
+            int index = Math.floorMod(head - i, capacity);
+            out.writeLong(openTime[index]);
+            out.writeDouble(open[index]);
+            out.writeDouble(high[index]);
+            out.writeDouble(low[index]);
+            out.writeDouble(close[index]);
+            out.writeLong(volume[index]);
+            out.writeInt(trades[index]);
+        }
+    }
+
+    // Reads bars written by writeTo into this (empty) series
+    public synchronized void readFrom(DataInput in, int count, boolean lastClosed) throws IOException {
+        for (int i = 0; i < count; i++) {
+            long time = in.readLong();
+            double o = in.readDouble(), h = in.readDouble(), l = in.readDouble(), c = in.readDouble();
+            long v = in.readLong();
+            int t = in.readInt();
+            head = (head + 1) % capacity;
+            if (size < capacity) size++;
+            openTime[head] = time;
+            open[head] = o;
+            high[head] = h;
+            low[head] = l;
+            close[head] = c;
+            volume[head] = v;
+            trades[head] = t;
+        }
+        headClosed = lastClosed;
+    }
+
+    private Candle toCandle(int index, boolean closed) {
+        return Candle.builder()
+                .symbol(symbol)
+                .interval(interval.getLabel())
+                .openTime(openTime[index])
+                .open(open[index])
+                .high(high[index])
+                .low(low[index])
+                .close(close[index])
+                .volume(volume[index])
+                .trades(trades[index])
+                .closed(closed)
+                .build();
+    }
+}
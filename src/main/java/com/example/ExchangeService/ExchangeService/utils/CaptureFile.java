@@ -0,0 +1,179 @@
+package com.example.ExchangeService.ExchangeService.utils;
+
+import lombok.Getter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Order-flow capture: header "OCAP" | version | start epoch millis, then a stream of records.
+//   'O' offsetNanos partition kafkaOffset recordTimestamp length bytes   raw inbound envelope as received
+//   'X' offsetNanos orderId counterOrderId price quantity  execution the engine produced for it
+// offsetNanos is measured from the start of the capture; recordTimestamp is the Kafka record time
+// the engine used as its clock for that order (v2). A torn last record just ends the stream.
+public final class CaptureFile {
+
+    public static final int MAGIC = 0x4F434150; // "OCAP"
+    public static final short VERSION = 2;
+    public static final byte ORDER = 'O';
+    public static final byte EXECUTION = 'X';
+    private static final int MAX_PAYLOAD = 1 << 20;
+
+    private CaptureFile() {
+    }
+
+    @Getter
+    public static final class Record {
+        private final byte type;
+        private final long offsetNanos;
+        private final int partition;
+        private final long kafkaOffset;
+        private final long recordTimestamp;
+        private final String payload;
+        private final long orderId;
+        private final long counterOrderId;
+        private final String price;
+        private final String quantity;
+
+        private Record(byte type, long offsetNanos, int partition, long kafkaOffset, long recordTimestamp,
+                       String payload, long orderId, long counterOrderId, String price, String quantity) {
+            this.type = type;
+            this.offsetNanos = offsetNanos;
+            this.partition = partition;
+            this.kafkaOffset = kafkaOffset;
+            this.recordTimestamp = recordTimestamp;
+            this.payload = payload;
+            this.orderId = orderId;
+            this.counterOrderId = counterOrderId;
+            this.price = price;
+            this.quantity = quantity;
+        }
+
+        public static Record order(long offsetNanos, int partition, long kafkaOffset, long recordTimestamp,
+                                   String payload) {
+            return new Record(ORDER, offsetNanos, partition, kafkaOffset, recordTimestamp, payload, 0, 0, null, null);
+        }
+
+        public static Record execution(long offsetNanos, long orderId, long counterOrderId, String price, String quantity) {
+            return new Record(EXECUTION, offsetNanos, 0, 0, 0, null, orderId, counterOrderId, price, quantity);
+        }
+
+        public boolean isOrder() {
+            return type == ORDER;
+        }
+    }
+
+    public static final class Writer implements Closeable {
+        private final DataOutputStream out;
+        @Getter
+        private final Path path;
+        private final long startNanos = System.nanoTime();
+        @Getter
+        private long records;
+
+        public Writer(Path path) throws IOException {
+            this.path = path;
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(System.currentTimeMillis());
+        }
+
+        public void writeOrder(int partition, long kafkaOffset, long recordTimestamp, String payload) throws IOException {
+            byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+            out.writeByte(ORDER);
+            out.writeLong(System.nanoTime() - startNanos);
+            out.writeInt(partition);
+            out.writeLong(kafkaOffset);
+            out.writeLong(recordTimestamp);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+            records++;
+        }
+
+        public void writeExecution(long orderId, long counterOrderId, String price, String quantity) throws IOException {
+            out.writeByte(EXECUTION);
+            out.writeLong(System.nanoTime() - startNanos);
+            out.writeLong(orderId);
+            out.writeLong(counterOrderId);
+            out.writeUTF(price);
+            out.writeUTF(quantity);
+            records++;
+        }
+
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    public static final class Reader implements Closeable {
+        private final DataInputStream in;
+        @Getter
+        private final long startEpochMillis;
+        private final short version;
+
+        public Reader(Path path) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16));
+            if (in.readInt() != MAGIC) {
+                in.close();
+                throw new IOException("Not an order capture file: " + path);
+            }
+            this.version = in.readShort();
+            if (version < 1 || version > VERSION) {
+                in.close();
+                throw new IOException("Unsupported capture version " + version + " in " + path);
+            }
+            this.startEpochMillis = in.readLong();
+        }
+
+        // Next record, or null at the end of the file or at a torn tail
+        public Record next() throws IOException {
+            try {
+                int type = in.read();
+                if (type < 0) {
+                    return null;
+                }
+                long offsetNanos = in.readLong();
+                if (type == ORDER) {
+                    int partition = in.readInt();
+                    long kafkaOffset = in.readLong();
+                    // v1 had no record time; arrival time is the closest stand-in
+                    long recordTimestamp = version >= 2 ? in.readLong() : startEpochMillis + offsetNanos / 1_000_000;
+                    int length = in.readInt();
+                    if (length < 0 || length > MAX_PAYLOAD) {
+                        return null;
+                    }
+                    byte[] bytes = in.readNBytes(length);
+                    if (bytes.length < length) {
+                        return null;
+                    }
+                    return Record.order(offsetNanos, partition, kafkaOffset, recordTimestamp,
+                            new String(bytes, StandardCharsets.UTF_8));
+                }
+                if (type == EXECUTION) {
+                    return Record.execution(offsetNanos, in.readLong(), in.readLong(), in.readUTF(), in.readUTF());
+                }
+                throw new IOException("Unknown capture record type " + type);
+            } catch (EOFException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.ExchangeService.ExchangeService.utils;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+// Engine time. Each input event ticks the clock once: it gets the next sequence number, which
+// decides time priority in the book, and one cached timestamp that every record it produces
+// carries. Given the same inputs and event times, a replay therefore produces identical output.
+// Ticked and read on the matching thread only. Until the first tick, reads fall through to the
+// wall clock, so a book used on its own (tests, benchmarks) still gets real timestamps.
+@Component
+public class EngineClock {
+
+    private final Clock clock;
+    private long sequence;
+    private Instant now;
+    private LocalDateTime localNow;
+    private int idsIssued;
+
+    public EngineClock() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public EngineClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    // Starts a new input event at the wall clock
+    public long tick() {
+        return tick(clock.instant());
+    }
+
+    // Starts a new input event at a time taken from the input itself (Kafka record time, capture)
+    public long tick(Instant eventTime) {
+        sequence++;
+        now = eventTime;
+        localNow = null;
+        idsIssued = 0;
+        return sequence;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Instant now() {
+        return now != null ? now : clock.instant();
+    }
+
+    public LocalDateTime localNow() {
+        if (now == null) {
+            return LocalDateTime.now(clock);
+        }
+        if (localNow == null) {
+            localNow = LocalDateTime.ofInstant(now, clock.getZone());
+        }
+        return localNow;
+    }
+
+    // Correlation id for an outbound message: "<sequence>-<n>", unique per input event
+    public String nextId() {
+        return sequence + "-" + (++idsIssued);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.ExchangeService.ExchangeService.utils;
+
+import com.example.ExchangeService.ExchangeService.entities.Order;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+// Reference data for one tradable symbol. id is dense (0..n-1) and indexes the engine's arrays.
+// A zero tick size or price band switches that check off.
+@Getter
+public class Instrument {
+
+    private final int id;
+    private final String symbol;
+    private final BigDecimal tickSize;
+    private final int lotSize;
+    private final BigDecimal priceBandPct;
+    @Getter(AccessLevel.NONE)
+    private final long rawTickSize;
+
+    public Instrument(int id, String symbol, BigDecimal tickSize, int lotSize, BigDecimal priceBandPct) {
+        this.id = id;
+        this.symbol = symbol;
+        this.tickSize = tickSize;
+        this.rawTickSize = Prices.toRaw(tickSize);
+        this.lotSize = Math.max(lotSize, 1);
+        this.priceBandPct = priceBandPct;
+    }
+
+    // Snaps prices onto the tick grid and returns why the order must be rejected, or null.
+    // Prices arrive as doubles, so anything within a millionth of a tick counts as on the grid.
+    // referencePrice is the book's raw last traded price, 0 before the first trade.
+    public String validate(Order order, long referencePrice) {
+        if (order.getQuantity() <= 0 || order.getQuantity() % lotSize != 0) {
+            return "quantity " + order.getQuantity() + " is not a multiple of lot size " + lotSize;
+        }
+        if (order.hasPrice()) {
+            long price = onTick(order.getRawPrice());
+            if (price == Prices.NONE) {
+                return "price " + order.getPrice().toPlainString() + " is off the " + tickSize.toPlainString() + " tick";
+            }
+            order.setRawPrice(price);
+            if (!withinBand(price, referencePrice)) {
+                return "price " + order.getPrice().toPlainString() + " is outside the " + priceBandPct.toPlainString()
+                        + "% band around " + Prices.toBigDecimal(referencePrice).toPlainString();
+            }
+        }
+        if (order.getRawStopPrice() != Prices.NONE) {
+            long stopPrice = onTick(order.getRawStopPrice());
+            if (stopPrice == Prices.NONE) {
+                return "stop price " + order.getStopPrice().toPlainString() + " is off the " + tickSize.toPlainString() + " tick";
+            }
+            order.setRawStopPrice(stopPrice);
+        }
+        return null;
+    }
+
+    private long onTick(long price) {
+        if (rawTickSize <= 0) {
+            return price;
+        }
+        long remainder = Math.floorMod(price, rawTickSize);
+        long distance = Math.min(remainder, rawTickSize - remainder);
+        if (distance > rawTickSize / 1_000_000) {
+            return Prices.NONE;
+        }
+        return remainder == distance ? price - remainder : price + distance;
+    }
+
+    private boolean withinBand(long price, long referencePrice) {
+        if (priceBandPct.signum() <= 0 || referencePrice <= 0) {
+            return true;
+        }
+        BigDecimal allowed = BigDecimal.valueOf(referencePrice).multiply(priceBandPct).movePointLeft(2);
+        return BigDecimal.valueOf(Math.abs(price - referencePrice)).compareTo(allowed) <= 0;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.ExchangeService.ExchangeService.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Assigns dense int ids to symbols: configured ones at startup, in order, then unknown symbols on
+// first sight when auto-registration is on. The symbol lookup happens once at ingress; everything
+// behind it is indexed by id.
+@Component
+@Slf4j
+public class InstrumentRegistry {
+
+    private final AtomicReferenceArray<Instrument> byId;
+    private final Map<String, Instrument> bySymbol = new ConcurrentHashMap<>();
+    private final boolean autoRegister;
+    private final BigDecimal defaultTickSize;
+    private final int defaultLotSize;
+    private final BigDecimal defaultPriceBandPct;
+    private int size;
+
+    @Autowired
+    public InstrumentRegistry(@Value("${instruments.symbols:}") String definitions,
+                              @Value("${instruments.capacity:1024}") int capacity,
+                              @Value("${instruments.auto-register:true}") boolean autoRegister,
+                              @Value("${instruments.default-tick-size:0}") BigDecimal defaultTickSize,
+                              @Value("${instruments.default-lot-size:1}") int defaultLotSize,
+                              @Value("${instruments.default-price-band-pct:0}") BigDecimal defaultPriceBandPct) {
+        this.byId = new AtomicReferenceArray<>(capacity);
+        this.autoRegister = autoRegister;
+        this.defaultTickSize = defaultTickSize;
+        this.defaultLotSize = defaultLotSize;
+        this.defaultPriceBandPct = defaultPriceBandPct;
+        // SYMBOL[:tickSize[:lotSize[:priceBandPct]]]
+        for (String definition : definitions.split(",")) {
+            String[] fields = definition.trim().split(":");
+            if (fields[0].isEmpty()) continue;
+            register(fields[0],
+                    fields.length > 1 ? new BigDecimal(fields[1]) : defaultTickSize,
+                    fields.length > 2 ? Integer.parseInt(fields[2]) : defaultLotSize,
+                    fields.length > 3 ? new BigDecimal(fields[3]) : defaultPriceBandPct);
+        }
+    }
+
+    // Registry with no configured instruments that admits any symbol with unchecked prices
+    public static InstrumentRegistry open(int capacity) {
+        return new InstrumentRegistry("", capacity, true, BigDecimal.ZERO, 1, BigDecimal.ZERO);
+    }
+
+    // Same instruments.* keys and defaults as the bean, for tools that run without a Spring context
+    public static InstrumentRegistry fromProperties(Properties config) {
+        return new InstrumentRegistry(
+                config.getProperty("instruments.symbols", ""),
+                Integer.parseInt(config.getProperty("instruments.capacity", "1024")),
+                Boolean.parseBoolean(config.getProperty("instruments.auto-register", "true")),
+                new BigDecimal(config.getProperty("instruments.default-tick-size", "0")),
+                Integer.parseInt(config.getProperty("instruments.default-lot-size", "1")),
+                new BigDecimal(config.getProperty("instruments.default-price-band-pct", "0")));
+    }
+
+    // Reads an application .yml/.yaml or .properties file, e.g. the one production runs with
+    public static Properties loadConfig(Resource resource) throws IOException {
+        String name = resource.getFilename() != null ? resource.getFilename() : "";
+        if (name.endsWith(".yml") || name.endsWith(".yaml")) {
+            YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+            yaml.setResources(resource);
+            return yaml.getObject();
+        }
+        return PropertiesLoaderUtils.loadProperties(resource);
+    }
+
+    public Instrument find(String symbol) {
+        return symbol != null ? bySymbol.get(symbol) : null;
+    }
+
+    // Known instrument, a newly registered one, or null when the symbol is not admitted
+    public Instrument resolve(String symbol) {
+        Instrument instrument = find(symbol);
+        if (instrument != null || !autoRegister || symbol == null || symbol.isBlank()) {
+            return instrument;
+        }
+        return register(symbol, defaultTickSize, defaultLotSize, defaultPriceBandPct);
+    }
+
+    public Instrument get(int id) {
+        return id >= 0 && id < byId.length() ? byId.get(id) : null;
+    }
+
+    public int getCapacity() {
+        return byId.length();
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized Instrument register(String symbol, BigDecimal tickSize, int lotSize, BigDecimal priceBandPct) {
+        Instrument existing = bySymbol.get(symbol);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == byId.length()) {
+            log.error("Instrument registry full ({}), rejecting symbol {}", byId.length(), symbol);
+            return null;
+        }
+        Instrument instrument = new Instrument(size, symbol, tickSize, lotSize, priceBandPct);
+        byId.set(size++, instrument);
+        bySymbol.put(symbol, instrument);
+        log.info("Registered instrument {} as id {}", symbol, instrument.getId());
+        return instrument;
+    }
+}
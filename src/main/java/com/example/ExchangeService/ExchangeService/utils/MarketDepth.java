@@ -0,0 +1,122 @@
+package com.example.ExchangeService.ExchangeService.utils;
+
+import com.example.ExchangeService.ExchangeService.enums.LevelAction;
+import com.example.ExchangeService.ExchangeService.enums.OrderSide;
+import com.example.ExchangeService.ExchangeService.events.PriceLevel;
+import com.example.ExchangeService.ExchangeService.events.PriceLevelUpdate;
+
+import java.math.BigDecimal;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Aggregated resting quantity per price level, maintained incrementally by OrderBook.
+// Touched levels are remembered until drained, so a sweep through many levels becomes one batch.
+// Levels are keyed by raw fixed-point price (see Prices); the read side hands out BigDecimals.
+public class MarketDepth {
+
+    private final TreeMap<Long, Long> bids = new TreeMap<>(Comparator.reverseOrder());
+    private final TreeMap<Long, Long> asks = new TreeMap<>();
+
+    // Resting notional per side, price x quantity summed over all levels
+    private BigDecimal bidNotional = BigDecimal.ZERO;
+    private BigDecimal askNotional = BigDecimal.ZERO;
+
+    // price -> size before the first change of the current batch
+    private final TreeMap<Long, Long> changedBids = new TreeMap<>(Comparator.reverseOrder());
+    private final TreeMap<Long, Long> changedAsks = new TreeMap<>();
+
+    public void add(OrderSide side, long price, long quantity) {
+        if (price == Prices.NONE || quantity <= 0) return;
+        TreeMap<Long, Long> levels = levels(side);
+        long before = levels.getOrDefault(price, 0L);
+        changed(side).putIfAbsent(price, before);
+        levels.put(price, before + quantity);
+        addNotional(side, notional(price, quantity));
+    }
+
+    public void reduce(OrderSide side, long price, long quantity) {
+        if (price == Prices.NONE || quantity <= 0) return;
+        TreeMap<Long, Long> levels = levels(side);
+        Long before = levels.get(price);
+        if (before == null) return;
+        changed(side).putIfAbsent(price, before);
+        long remaining = before - quantity;
+        if (remaining > 0) {
+            levels.put(price, remaining);
+        } else {
+            levels.remove(price);
+        }
+        addNotional(side, notional(price, Math.min(before, quantity)).negate());
+    }
+
+    public boolean hasChanges() {
+        return !changedBids.isEmpty() || !changedAsks.isEmpty();
+    }
+
+    public List<PriceLevelUpdate> drainChanges() {
+        List<PriceLevelUpdate> updates = new ArrayList<>(changedBids.size() + changedAsks.size());
+        drain(OrderSide.BUY, updates);
+        drain(OrderSide.SELL, updates);
+        return updates;
+    }
+
+    public List<PriceLevel> getLevels(OrderSide side, int maxLevels) {
+        TreeMap<Long, Long> levels = levels(side);
+        List<PriceLevel> result = new ArrayList<>(Math.min(maxLevels, levels.size()));
+        for (Map.Entry<Long, Long> level : levels.entrySet()) {
+            if (result.size() >= maxLevels) break;
+            result.add(new PriceLevel(Prices.toBigDecimal(level.getKey()), level.getValue()));
+        }
+        return result;
+    }
+
+    public Map.Entry<BigDecimal, Long> getBest(OrderSide side) {
+        Map.Entry<Long, Long> best = levels(side).firstEntry();
+        return best != null ? new AbstractMap.SimpleImmutableEntry<>(Prices.toBigDecimal(best.getKey()), best.getValue()) : null;
+    }
+
+    public int getLevelCount(OrderSide side) {
+        return levels(side).size();
+    }
+
+    public BigDecimal getNotional(OrderSide side) {
+        return side == OrderSide.BUY ? bidNotional : askNotional;
+    }
+
+    private void drain(OrderSide side, List<PriceLevelUpdate> updates) {
+        TreeMap<Long, Long> levels = levels(side);
+        TreeMap<Long, Long> changed = changed(side);
+        for (Map.Entry<Long, Long> entry : changed.entrySet()) {
+            long before = entry.getValue();
+            long now = levels.getOrDefault(entry.getKey(), 0L);
+            if (before == now) continue; // level came back to where it started
+            LevelAction action = before == 0 ? LevelAction.ADD : now == 0 ? LevelAction.DELETE : LevelAction.UPDATE;
+            updates.add(new PriceLevelUpdate(side, Prices.toBigDecimal(entry.getKey()), now, action));
+        }
+        changed.clear();
+    }
+
+    private static BigDecimal notional(long price, long quantity) {
+        return BigDecimal.valueOf(price, Prices.SCALE).multiply(BigDecimal.valueOf(quantity));
+    }
+
+    private void addNotional(OrderSide side, BigDecimal amount) {
+        if (side == OrderSide.BUY) {
+            bidNotional = bidNotional.add(amount);
+        } else {
+            askNotional = askNotional.add(amount);
+        }
+    }
+
+    private TreeMap<Long, Long> levels(OrderSide side) {
+        return side == OrderSide.BUY ? bids : asks;
+    }
+
+    private TreeMap<Long, Long> changed(OrderSide side) {
+        return side == OrderSide.BUY ? changedBids : changedAsks;
+    }
+}
@@ -4,11 +4,11 @@ import com.example.ExchangeService.ExchangeService.entities.Execution;
 import com.example.ExchangeService.ExchangeService.entities.Order;
 import com.example.ExchangeService.ExchangeService.enums.OrderSide;
 import com.example.ExchangeService.ExchangeService.enums.OrderType;
+import com.example.ExchangeService.ExchangeService.jfr.StopCascadeEvent;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.util.*;
 
 @Component
@@ -16,86 +16,157 @@ import java.util.*;
 @Getter
 public class OrderBook {
 
-    // Buy orders: higher price first, then older timestamp
+    // Buy orders: higher price first, then older timestamp. Prices are compared in raw fixed-point;
+    // Prices.NONE sorts below every real price, as the old null-as-zero rule did.
     private PriorityQueue<Order> buyOrders = new PriorityQueue<>(
             (o1, o2) -> {
-                BigDecimal price1 = o1.getPrice() != null ? o1.getPrice() : BigDecimal.ZERO;
-                BigDecimal price2 = o2.getPrice() != null ? o2.getPrice() : BigDecimal.ZERO;
-                int cmp = price2.compareTo(price1); // higher price first
-                return cmp != 0 ? cmp : o1.getTimeStamp().compareTo(o2.getTimeStamp());
+                int cmp = Long.compare(o2.getRawPrice(), o1.getRawPrice()); // higher price first
+                return cmp != 0 ? cmp : timePriority(o1, o2);
             });
 
     // Sell orders: lower price first, then older timestamp
     private PriorityQueue<Order> sellOrders = new PriorityQueue<>(
             (o1, o2) -> {
-                BigDecimal price1 = o1.getPrice() != null ? o1.getPrice() : BigDecimal.ZERO;
-                BigDecimal price2 = o2.getPrice() != null ? o2.getPrice() : BigDecimal.ZERO;
-                int cmp = price1.compareTo(price2); // lower price first
-                return cmp != 0 ? cmp : o1.getTimeStamp().compareTo(o2.getTimeStamp());
+                int cmp = Long.compare(o1.getRawPrice(), o2.getRawPrice()); // lower price first
+                return cmp != 0 ? cmp : timePriority(o1, o2);
             });
 
     private List<Order> stopOrders = new ArrayList<>();
     private List<Order> waitingMarketOrders = new ArrayList<>(); // market orders waiting for price
-    private BigDecimal lastTradedPrice = BigDecimal.ZERO;
+    private long rawLastTradedPrice = 0;
+    private final MarketDepth depth = new MarketDepth();
+    private final OrderBookStats stats = new OrderBookStats();
+    private final EngineClock clock;
 
-    public List<TradeResult> addOrder(Order order) {
-        log.info("Adding order: {}", order);
+    public OrderBook() {
+        this(new EngineClock());
+    }
+
+    public OrderBook(EngineClock clock) {
+        this.clock = clock;
+    }
+
+    // Engine sequence first; orders built outside the engine (sequence 0) fall back to their timestamp
+    private static int timePriority(Order o1, Order o2) {
+        int cmp = Long.compare(o1.getSequence(), o2.getSequence());
+        return cmp != 0 ? cmp : Long.compare(o1.getTimeStampNanos(), o2.getTimeStampNanos());
+    }
+
+    public BigDecimal getLastTradedPrice() {
+        return rawLastTradedPrice > 0 ? Prices.toBigDecimal(rawLastTradedPrice) : BigDecimal.ZERO;
+    }
+
+    // synchronized only so an on-demand dump can take a consistent copy; uncontended otherwise
+    public synchronized List<TradeResult> addOrder(Order order) {
+        log.debug("Adding order: {}", order);
         List<TradeResult> tradeResults = new ArrayList<>();
 
         // Stop orders go to stopOrders list
         if (order.getOrderType() == OrderType.STOP_MARKET || order.getOrderType() == OrderType.STOP_LIMIT) {
             stopOrders.add(order);
+            stats.refresh(this);
             return tradeResults;
         }
         // Process the order
         tradeResults.addAll(processOrder(order));
         // Process any waiting market orders after a trade happens
         tradeResults.addAll(processWaitingMarketOrders());
-        printOrderBookState();
+        stats.refresh(this);
         return tradeResults;
     }
 
+    // Removes a resting, stop or waiting order; returns it, or null when the book does not hold it
+    public Order cancelOrder(String orderId) {
+        return cancelOrder(Long.parseLong(orderId));
+    }
+
+    public synchronized Order cancelOrder(long orderId) {
+        Order cancelled = remove(buyOrders, orderId);
+        if (cancelled == null) cancelled = remove(sellOrders, orderId);
+        if (cancelled != null) {
+            depth.reduce(cancelled.getOrderSide(), cancelled.getRawPrice(), cancelled.getQuantity() - cancelled.getFilledQuantity());
+        } else {
+            cancelled = remove(stopOrders, orderId);
+            if (cancelled == null) cancelled = remove(waitingMarketOrders, orderId);
+        }
+        if (cancelled != null) {
+            stats.refresh(this);
+        }
+        return cancelled;
+    }
+
+    private Order remove(Collection<Order> orders, long orderId) {
+        Iterator<Order> iterator = orders.iterator();
+        while (iterator.hasNext()) {
+            Order order = iterator.next();
+            if (order.getId() == orderId) {
+                iterator.remove();
+                return order;
+            }
+        }
+        return null;
+    }
+
+    // Detached copies of every order, taken under the book lock; formatting happens elsewhere
+    public synchronized Map<String, List<Order>> copyOrders() {
+        Map<String, List<Order>> copy = new LinkedHashMap<>();
+        copy.put("BUY", copyOf(buyOrders));
+        copy.put("SELL", copyOf(sellOrders));
+        copy.put("STOP", copyOf(stopOrders));
+        copy.put("WAITING MARKET", copyOf(waitingMarketOrders));
+        return copy;
+    }
+
+    private List<Order> copyOf(Collection<Order> orders) {
+        List<Order> copy = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            copy.add(order.toBuilder().build());
+        }
+        return copy;
+    }
+
     private List<TradeResult> processOrder(Order order) {
         List<TradeResult> tradeResults = new ArrayList<>();
         // Check opposite heap
         PriorityQueue<Order> opposite = order.getOrderSide() == OrderSide.BUY ? sellOrders : buyOrders;
         while (!opposite.isEmpty() && order.getQuantity() > order.getFilledQuantity()) {
             Order bestOrder = opposite.peek();
-            BigDecimal executionPrice;
+            long executionPrice;
             boolean canMatch = false;
-            if (order.getOrderType() == OrderType.MARKET && bestOrder.getPrice() == null) {
+            if (order.getOrderType() == OrderType.MARKET && !bestOrder.hasPrice()) {
                 // Market × Market case
-                if (lastTradedPrice.compareTo(BigDecimal.ZERO) > 0) {
-                    executionPrice = lastTradedPrice;
+                if (rawLastTradedPrice > 0) {
+                    executionPrice = rawLastTradedPrice;
                     canMatch = true;
-                    log.info("Market × Market execution at lastTradedPrice: {}", executionPrice);
+                    log.debug("Market × Market execution at lastTradedPrice: {}", executionPrice);
                 } else {
                     // No lastTradedPrice available - wait
-                    log.info("Market × Market: No lastTradedPrice available, adding to waiting list");
+                    log.debug("Market × Market: No lastTradedPrice available, adding to waiting list");
                     waitingMarketOrders.add(order);
+                    stats.marketOrderParked();
                     return tradeResults;
                 }
-            } else if (order.getOrderType() == OrderType.MARKET && bestOrder.getPrice() != null) {
+            } else if (order.getOrderType() == OrderType.MARKET && bestOrder.hasPrice()) {
                 // Market × Limit case
-                executionPrice = bestOrder.getPrice();
+                executionPrice = bestOrder.getRawPrice();
                 canMatch = true;
-                log.info("Market × Limit execution at limit price: {}", executionPrice);
-            } else if (order.getOrderType() == OrderType.LIMIT && bestOrder.getPrice() == null) {
+                log.debug("Market × Limit execution at limit price: {}", executionPrice);
+            } else if (order.getOrderType() == OrderType.LIMIT && !bestOrder.hasPrice()) {
                 // Limit × Market case
-                executionPrice = order.getPrice();
+                executionPrice = order.getRawPrice();
                 canMatch = true;
-                log.info("Limit × Market execution at limit price: {}", executionPrice);
+                log.debug("Limit × Market execution at limit price: {}", executionPrice);
             } else {
                 // Limit × Limit case
-                executionPrice = order.getPrice();
+                executionPrice = order.getRawPrice();
                 if (order.getOrderSide() == OrderSide.BUY) {
-                    canMatch = executionPrice.compareTo(bestOrder.getPrice()) >= 0;
+                    canMatch = executionPrice >= bestOrder.getRawPrice();
                 } else {
-                    canMatch = executionPrice.compareTo(bestOrder.getPrice()) <= 0;
+                    canMatch = executionPrice <= bestOrder.getRawPrice();
                 }
                 if (canMatch) {
-                    executionPrice = bestOrder.getPrice(); // Price improvement
-                    log.info("Limit × Limit execution at best price: {}", executionPrice);
+                    executionPrice = bestOrder.getRawPrice(); // Price improvement
+                    log.debug("Limit × Limit execution at best price: {}", executionPrice);
                 }
             }
             if (!canMatch)  break;
@@ -105,6 +176,7 @@ public class OrderBook {
 
             Execution execution = executeTrade(order, bestOrder, tradableQuantity, executionPrice);
             tradeResults.add(new TradeResult(execution, List.of(order, bestOrder)));
+            depth.reduce(bestOrder.getOrderSide(), bestOrder.getRawPrice(), tradableQuantity);
 
             // Removing fully filled orders
             if (bestOrder.getFilledQuantity() == bestOrder.getQuantity()) {
@@ -123,8 +195,10 @@ public class OrderBook {
                 } else {
                     sellOrders.add(order);
                 }
+                depth.add(order.getOrderSide(), order.getRawPrice(), order.getQuantity() - order.getFilledQuantity());
             } else if (order.getOrderType() == OrderType.MARKET) {
                 waitingMarketOrders.add(order);
+                stats.marketOrderParked();
             }
         }
         return tradeResults;
@@ -135,7 +209,7 @@ public class OrderBook {
         if (waitingMarketOrders.isEmpty()) {
             return tradeResults;
         }
-        log.info("Processing {} waiting market orders", waitingMarketOrders.size());
+        log.debug("Processing {} waiting market orders", waitingMarketOrders.size());
         // Process waiting market orders (avoid recursion)
         List<Order> ordersToProcess = new ArrayList<>(waitingMarketOrders);
         waitingMarketOrders.clear();
@@ -147,28 +221,6 @@ public class OrderBook {
         return tradeResults;
     }
 
-    private void printOrderBookState() {
-        log.info("===== ORDER BOOK STATE =====");
-        if (!buyOrders.isEmpty()) {
-            log.info("BUY Orders:");
-            buyOrders.forEach(o -> log.info("{}", o));
-        }
-        if (!sellOrders.isEmpty()) {
-            log.info("SELL Orders:");
-            sellOrders.forEach(o -> log.info("{}", o));
-        }
-        if (!stopOrders.isEmpty()) {
-            log.info("STOP Orders:");
-            stopOrders.forEach(o -> log.info("{}", o));
-        }
-        if (!waitingMarketOrders.isEmpty()) {
-            log.info("WAITING MARKET Orders:");
-            waitingMarketOrders.forEach(o -> log.info("{}", o));
-        }
-        log.info("Last Traded Price: {}", lastTradedPrice);
-        log.info("============================");
-    }
-
     private List<TradeResult> checkStopOrders() {
         List<TradeResult> allTriggeredResults = new ArrayList<>();
         Queue<Order> triggeredQueue = new LinkedList<>();
@@ -180,22 +232,23 @@ public class OrderBook {
             boolean triggered = false;
 
             if (stopOrder.getOrderSide() == OrderSide.BUY &&
-                    stopOrder.getStopPrice() != null &&
-                    lastTradedPrice.compareTo(stopOrder.getStopPrice()) >= 0) {
+                    stopOrder.getRawStopPrice() != Prices.NONE &&
+                    rawLastTradedPrice >= stopOrder.getRawStopPrice()) {
                 triggered = true;
             } else if (stopOrder.getOrderSide() == OrderSide.SELL &&
-                    stopOrder.getStopPrice() != null &&
-                    lastTradedPrice.compareTo(stopOrder.getStopPrice()) <= 0) {
+                    stopOrder.getRawStopPrice() != Prices.NONE &&
+                    rawLastTradedPrice <= stopOrder.getRawStopPrice()) {
                 triggered = true;
             }
 
             if (triggered) {
-                log.info("Stop order triggered: {}", stopOrder);
+                log.debug("Stop order triggered: {}", stopOrder);
                 iterator.remove();
+                stats.stopTriggered();
                 // Convert to MARKET or LIMIT
                 if (stopOrder.getOrderType() == OrderType.STOP_MARKET) {
                     stopOrder.setOrderType(OrderType.MARKET);
-                    stopOrder.setPrice(null); // Ensure market orders have null price
+                    stopOrder.setRawPrice(Prices.NONE); // Ensure market orders have no price
                 } else {
                     stopOrder.setOrderType(OrderType.LIMIT);
                 }
@@ -203,6 +256,15 @@ public class OrderBook {
             }
         }
 
+        if (triggeredQueue.isEmpty()) {
+            return allTriggeredResults;
+        }
+        StopCascadeEvent cascade = new StopCascadeEvent();
+        cascade.begin();
+        int triggered = triggeredQueue.size();
+        String symbol = triggeredQueue.peek().getInstrumentId();
+        long triggerPrice = rawLastTradedPrice;
+
         // Process triggered stop orders iteratively to avoid recursion
         while (!triggeredQueue.isEmpty()) {
             Order stopOrder = triggeredQueue.poll();
@@ -214,35 +276,41 @@ public class OrderBook {
             allTriggeredResults.addAll(newlyTriggered);
         }
 
+        cascade.end();
+        if (cascade.shouldCommit()) {
+            cascade.symbol = symbol;
+            cascade.triggerPrice = Prices.toDouble(triggerPrice);
+            cascade.triggered = triggered;
+            cascade.fills = allTriggeredResults.size();
+            cascade.remaining = stopOrders.size();
+            cascade.commit();
+        }
         return allTriggeredResults;
     }
 
 
-    private Execution executeTrade(Order incoming, Order existing, int quantity, BigDecimal executionPrice) {
-        log.info("Executing trade: {} units between {} and {}", quantity, incoming.getOrderId(), existing.getOrderId());
-
+    private Execution executeTrade(Order incoming, Order existing, int quantity, long rawExecutionPrice) {
         incoming.setFilledQuantity(incoming.getFilledQuantity() + quantity);
         existing.setFilledQuantity(existing.getFilledQuantity() + quantity);
-        lastTradedPrice = executionPrice;
+        rawLastTradedPrice = rawExecutionPrice;
+        stats.tradeExecuted();
 
+        // Executions leave the engine, so this is where the price turns back into a BigDecimal
+        BigDecimal executionPrice = Prices.toBigDecimal(rawExecutionPrice);
         Execution execution = Execution.builder()
-                .orderId(Long.parseLong(incoming.getOrderId()))
-                .counterOrderId(Long.parseLong(existing.getOrderId()))
+                .orderId(incoming.getId())
+                .counterOrderId(existing.getId())
                 .userId(incoming.getUserId())
                 .instrumentSymbol(incoming.getInstrumentId())
                 .side(incoming.getOrderSide().name())
                 .quantity(BigDecimal.valueOf(quantity))
                 .price(executionPrice)
                 .notional(executionPrice.multiply(BigDecimal.valueOf(quantity)))
-                .executedAt(LocalDateTime.now())
+                .executedAt(clock.localNow())
                 .build();
 
-        log.info("Trade executed: {} units between Order {} ({} - {}) and Order {} ({} - {}) at price {}",
-                quantity,
-                incoming.getOrderId(), incoming.getOrderSide(), incoming.getUserId(),
-                existing.getOrderId(), existing.getOrderSide(), existing.getUserId(),
-                executionPrice
-        );
+        log.debug("Trade executed: {} units between Order {} and Order {} at price {}",
+                quantity, incoming.getId(), existing.getId(), executionPrice);
         return execution;
     }
 }
@@ -0,0 +1,46 @@
+package com.example.ExchangeService.ExchangeService.utils;
+
+import com.example.ExchangeService.ExchangeService.enums.OrderSide;
+import lombok.Getter;
+
+// Running book counters. Written only by the matching thread after each order, read by metrics
+// from any thread, so every read is O(1) no matter how deep the book is.
+@Getter
+public class OrderBookStats {
+
+    private volatile int buyOrders;
+    private volatile int sellOrders;
+    private volatile int bidLevels;
+    private volatile int askLevels;
+    private volatile int stopOrders;
+    private volatile int waitingMarketOrders;
+    private volatile double bidNotional;
+    private volatile double askNotional;
+    private volatile long tradesExecuted;
+    private volatile long stopsTriggered;
+    private volatile long marketOrdersParked;
+
+    void refresh(OrderBook book) {
+        MarketDepth depth = book.getDepth();
+        buyOrders = book.getBuyOrders().size();
+        sellOrders = book.getSellOrders().size();
+        bidLevels = depth.getLevelCount(OrderSide.BUY);
+        askLevels = depth.getLevelCount(OrderSide.SELL);
+        stopOrders = book.getStopOrders().size();
+        waitingMarketOrders = book.getWaitingMarketOrders().size();
+        bidNotional = depth.getNotional(OrderSide.BUY).doubleValue();
+        askNotional = depth.getNotional(OrderSide.SELL).doubleValue();
+    }
+
+    void tradeExecuted() {
+        tradesExecuted++;
+    }
+
+    void stopTriggered() {
+        stopsTriggered++;
+    }
+
+    void marketOrderParked() {
+        marketOrdersParked++;
+    }
+}
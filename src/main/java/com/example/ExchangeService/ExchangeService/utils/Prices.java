@@ -0,0 +1,34 @@
+package com.example.ExchangeService.ExchangeService.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Fixed-point prices inside the engine: a long counting units of 10^-8. BigDecimal only appears at
+// the edges (inbound events, executions, market data). NONE stands for "no price" (market orders).
+public final class Prices {
+
+    public static final int SCALE = 8;
+    public static final long NONE = Long.MIN_VALUE;
+
+    // Outbound prices keep at least cents, so 10 renders as 10.00 as it did before the conversion
+    private static final int MIN_DISPLAY_SCALE = 2;
+
+    private Prices() {
+    }
+
+    public static long toRaw(BigDecimal price) {
+        return price == null ? NONE : price.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long raw) {
+        if (raw == NONE) {
+            return null;
+        }
+        BigDecimal price = BigDecimal.valueOf(raw, SCALE).stripTrailingZeros();
+        return price.scale() < MIN_DISPLAY_SCALE ? price.setScale(MIN_DISPLAY_SCALE) : price;
+    }
+
+    public static double toDouble(long raw) {
+        return raw == NONE ? Double.NaN : raw / 1e8;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.ExchangeService.ExchangeService.utils;
+
+import com.example.ExchangeService.ExchangeService.events.Ticker;
+
+// Sliding-window trade statistics over a ring of fixed-width time buckets. Volume, notional and
+// trade count are kept as running totals, so a trade costs O(1) and expired buckets are subtracted
+// as the window moves forward. High/low/open are resolved over the buckets when a ticker is read.
+public class RollingWindow {
+
+    private final String symbol;
+    private final long bucketMillis;
+    private final int bucketCount;
+
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] notional;
+    private final long[] volume;
+    private final int[] trades;
+
+    private long currentBucket = Long.MIN_VALUE;
+    private double totalNotional;
+    private long totalVolume;
+    private long totalTrades;
+
+    private double lastPrice = Double.NaN;
+    private long lastTradeAt = Long.MIN_VALUE;
+
+    public RollingWindow(String symbol, long windowMillis, int bucketCount) {
+        this.symbol = symbol;
+        this.bucketCount = bucketCount;
+        this.bucketMillis = Math.max(1, windowMillis / bucketCount);
+        this.open = new double[bucketCount];
+        this.high = new double[bucketCount];
+        this.low = new double[bucketCount];
+        this.notional = new double[bucketCount];
+        this.volume = new long[bucketCount];
+        this.trades = new int[bucketCount];
+    }
+
+    public synchronized void onTrade(long timestamp, double price, long quantity) {
+        long bucket = Math.floorDiv(timestamp, bucketMillis);
+        advance(bucket);
+        if (bucket <= currentBucket - bucketCount) {
+            return; // older than the window
+        }
+        int index = (int) Math.floorMod(bucket, bucketCount);
+        if (trades[index] == 0) {
+            open[index] = price;
+            high[index] = price;
+            low[index] = price;
+        } else {
+            high[index] = Math.max(high[index], price);
+            low[index] = Math.min(low[index], price);
+        }
+        double tradeNotional = price * quantity;
+        notional[index] += tradeNotional;
+        volume[index] += quantity;
+        trades[index]++;
+        totalNotional += tradeNotional;
+        totalVolume += quantity;
+        totalTrades++;
+        if (timestamp >= lastTradeAt) {
+            lastTradeAt = timestamp;
+            lastPrice = price;
+        }
+    }
+
+    public synchronized Ticker snapshot(long now) {
+        advance(Math.floorDiv(now, bucketMillis));
+        double windowOpen = Double.NaN;
+        double windowHigh = Double.NaN;
+        double windowLow = Double.NaN;
+        // Oldest bucket first, so the first bucket with trades gives the window's open
+        for (long bucket = currentBucket - bucketCount + 1; bucket <= currentBucket; bucket++) {
+            int index = (int) Math.floorMod(bucket, bucketCount);
+            if (trades[index] == 0) continue;
+            if (Double.isNaN(windowOpen)) {
+                windowOpen = open[index];
+                windowHigh = high[index];
+                windowLow = low[index];
+            } else {
+                windowHigh = Math.max(windowHigh, high[index]);
+                windowLow = Math.min(windowLow, low[index]);
+            }
+        }
+        boolean traded = totalTrades > 0;
+        return Ticker.builder()
+                .symbol(symbol)
+                .lastPrice(Double.isNaN(lastPrice) ? null : lastPrice)
+                .open(traded ? windowOpen : null)
+                .high(traded ? windowHigh : null)
+                .low(traded ? windowLow : null)
+                .vwap(traded ? totalNotional / totalVolume : null)
+                .change(traded ? lastPrice - windowOpen : null)
+                .changePercent(traded && windowOpen != 0 ? (lastPrice - windowOpen) / windowOpen * 100 : null)
+                .volume(totalVolume)
+                .notional(totalNotional)
+                .trades(totalTrades)
+                .asOf(now)
+                .build();
+    }
+
+    // Clears every bucket that falls out of the window when it moves forward to the given bucket
+    private void advance(long bucket) {
+        if (currentBucket == Long.MIN_VALUE) {
+            currentBucket = bucket;
+            return;
+        }
+        if (bucket <= currentBucket) return;
+        long steps = Math.min(bucket - currentBucket, bucketCount);
+        for (long i = 1; i <= steps; i++) {
+            clear((int) Math.floorMod(currentBucket + i, bucketCount));
+        }
+        currentBucket = bucket;
+    }
+
+    private void clear(int index) {
+        if (trades[index] == 0) return;
+        totalNotional -= notional[index];
+        totalVolume -= volume[index];
+        totalTrades -= trades[index];
+        notional[index] = 0;
+        volume[index] = 0;
+        trades[index] = 0;
+    }
+}
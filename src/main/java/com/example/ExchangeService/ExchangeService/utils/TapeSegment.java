@@ -0,0 +1,203 @@
+package com.example.ExchangeService.ExchangeService.utils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+// One memory-mapped file of fixed-size trade records. A single writer appends; readers see every
+// record below the volatile count. Every BLOCK_SIZE records a sparse index entry keeps the block's
+// time range and the symbols it contains, so scans skip blocks that cannot match. Segments that are
+// no longer written are scanned straight from the file instead, without being mapped.
+public class TapeSegment implements AutoCloseable {
+
+    public static final int RECORD_SIZE = 48;
+    public static final int BLOCK_SIZE = 4096;
+
+    private static final int MAGIC = 0x54415045; // "TAPE"
+    private static final int HEADER_SIZE = 64;
+    private static final int COUNT_OFFSET = 8;
+
+    // Record layout: timestamp(8) orderId(8) counterOrderId(8) symbolId(4) side(4) price(8) quantity(8)
+    private static final int TS = 0, ORDER = 8, COUNTER = 16, SYMBOL = 24, SIDE = 28, PRICE = 32, QTY = 40;
+
+    private final Path path;
+    private final int capacity;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final List<Block> blocks = new ArrayList<>();
+    private volatile int count;
+
+    private TapeSegment(Path path, int capacity, FileChannel channel, MappedByteBuffer buffer, int count) {
+        this.path = path;
+        this.capacity = capacity;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.count = count;
+        for (int i = 0; i < count; i++) {
+            index(i, buffer.getLong(offset(i) + TS), buffer.getInt(offset(i) + SYMBOL));
+        }
+    }
+
+    // Opens an existing segment or creates a new one sized for capacity records
+    public static TapeSegment open(Path path, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean fresh = channel.size() == 0;
+        if (!fresh) {
+            ByteBuffer header = ByteBuffer.allocate(16);
+            channel.read(header, 0);
+            if (header.getInt(0) != MAGIC) {
+                channel.close();
+                throw new IOException("Not a trade tape segment: " + path);
+            }
+            capacity = header.getInt(4);
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+        if (fresh) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, capacity);
+            buffer.putInt(COUNT_OFFSET, 0);
+        }
+        return new TapeSegment(path, capacity, channel, buffer, buffer.getInt(COUNT_OFFSET));
+    }
+
+    public boolean isFull() {
+        return count >= capacity;
+    }
+
+    // Single writer only
+    public void append(long timestamp, int symbolId, long orderId, long counterOrderId,
+                       boolean buyAggressor, double price, long quantity) {
+        int index = count;
+        int offset = offset(index);
+        buffer.putLong(offset + TS, timestamp);
+        buffer.putLong(offset + ORDER, orderId);
+        buffer.putLong(offset + COUNTER, counterOrderId);
+        buffer.putInt(offset + SYMBOL, symbolId);
+        buffer.putInt(offset + SIDE, buyAggressor ? 1 : 0);
+        buffer.putDouble(offset + PRICE, price);
+        buffer.putLong(offset + QTY, quantity);
+        synchronized (blocks) {
+            index(index, timestamp, symbolId);
+        }
+        buffer.putInt(COUNT_OFFSET, index + 1);
+        count = index + 1; // publishes the record to readers
+    }
+
+    // Visits records of symbolId (or every symbol when negative) with timestamp in [from, to]
+    public boolean scan(int symbolId, long from, long to, TapeVisitor visitor) {
+        int visible = count;
+        ByteBuffer view = buffer.duplicate();
+        List<Block> candidates;
+        synchronized (blocks) {
+            candidates = new ArrayList<>(blocks);
+        }
+        for (int b = 0; b < candidates.size(); b++) {
+            // The newest block may still be growing, so its index entry is only trusted once it is sealed
+            Block block = candidates.get(b);
+            boolean sealed = b < candidates.size() - 1;
+            if (sealed && (block.maxTimestamp < from || block.minTimestamp > to)) continue;
+            if (sealed && symbolId >= 0 && !block.symbols.get(symbolId)) continue;
+            int end = Math.min(visible, (b + 1) * BLOCK_SIZE);
+            for (int i = b * BLOCK_SIZE; i < end; i++) {
+                if (!visit(view, offset(i), symbolId, from, to, visitor)) return false;
+            }
+        }
+        return true;
+    }
+
+    // Same as scan, for a segment file that is not open: reads it one block at a time and closes it
+    public static boolean scan(Path path, int symbolId, long from, long to, TapeVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Not a trade tape segment: " + path);
+            }
+            int count = header.getInt(COUNT_OFFSET);
+            ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE * RECORD_SIZE);
+            for (int first = 0; first < count; first += BLOCK_SIZE) {
+                int records = Math.min(BLOCK_SIZE, count - first);
+                block.clear().limit(records * RECORD_SIZE);
+                readFully(channel, block, offset(first));
+                for (int i = 0; i < records; i++) {
+                    if (!visit(block, i * RECORD_SIZE, symbolId, from, to, visitor)) return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public long getMinTimestamp() {
+        synchronized (blocks) {
+            return blocks.isEmpty() ? Long.MAX_VALUE : blocks.get(0).minTimestamp;
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private void index(int recordIndex, long timestamp, int symbolId) {
+        int b = recordIndex / BLOCK_SIZE;
+        if (b == blocks.size()) {
+            blocks.add(new Block(timestamp));
+        }
+        Block block = blocks.get(b);
+        block.minTimestamp = Math.min(block.minTimestamp, timestamp);
+        block.maxTimestamp = Math.max(block.maxTimestamp, timestamp);
+        block.symbols.set(symbolId);
+    }
+
+    // False only when the visitor asks to stop
+    private static boolean visit(ByteBuffer view, int offset, int symbolId, long from, long to, TapeVisitor visitor) {
+        long timestamp = view.getLong(offset + TS);
+        int symbol = view.getInt(offset + SYMBOL);
+        if (timestamp < from || timestamp > to || (symbolId >= 0 && symbol != symbolId)) return true;
+        return visitor.onTrade(timestamp, symbol, view.getLong(offset + ORDER), view.getLong(offset + COUNTER),
+                view.getInt(offset + SIDE) == 1, view.getDouble(offset + PRICE), view.getLong(offset + QTY));
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            if (channel.read(target, position + target.position()) < 0) {
+                throw new EOFException("Trade tape segment ends early");
+            }
+        }
+    }
+
+    private static int offset(int recordIndex) {
+        return HEADER_SIZE + recordIndex * RECORD_SIZE;
+    }
+
+    private static class Block {
+        private long minTimestamp;
+        private long maxTimestamp;
+        private final BitSet symbols = new BitSet();
+
+        private Block(long timestamp) {
+            this.minTimestamp = timestamp;
+            this.maxTimestamp = timestamp;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.ExchangeService.ExchangeService.utils;
+
+// Allocation-free callback for trade tape scans; return false to stop the scan
+@FunctionalInterface
+public interface TapeVisitor {
+
+    boolean onTrade(long timestamp, int symbolId, long orderId, long counterOrderId,
+                    boolean buyAggressor, double price, long quantity);
+}
@@ -0,0 +1,43 @@
+package com.example.ExchangeService.ExchangeService;
+
+import com.example.ExchangeService.ExchangeService.persistence.EnginePersistence;
+import com.example.ExchangeService.ExchangeService.persistence.JournalEnginePersistence;
+import com.example.ExchangeService.ExchangeService.service.MatchingEngineService;
+import com.example.ExchangeService.ExchangeService.service.RetentionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The headless profile must boot without MySQL or a web server
+@SpringBootTest(properties = {
+		"warmup.orders=500",
+		"spring.kafka.bootstrap-servers=localhost:1",
+		"engine.journal.file=target/engine-profile-test/engine.journal",
+		"tape.dir=target/engine-profile-test/tape",
+		"candles.checkpoint-file=target/engine-profile-test/candles.bin",
+		"logging.level.org.apache.kafka=off"
+})
+@ActiveProfiles("engine")
+class EngineProfileContextTests {
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Test
+	@DisplayName("Engine Profile Boots Headless On The Journal")
+	void engineProfileLoads() {
+		assertFalse(context instanceof WebApplicationContext);
+		assertTrue(context.getBeansOfType(DataSource.class).isEmpty());
+		assertTrue(context.getBeansOfType(RetentionService.class).isEmpty());
+		assertInstanceOf(JournalEnginePersistence.class, context.getBean(EnginePersistence.class));
+		assertNotNull(context.getBean(MatchingEngineService.class));
+	}
+}
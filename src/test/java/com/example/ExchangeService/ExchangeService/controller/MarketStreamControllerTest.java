@@ -0,0 +1,40 @@
+package com.example.ExchangeService.ExchangeService.controller;
+
+import com.example.ExchangeService.ExchangeService.service.EngineEventBus;
+import com.example.ExchangeService.ExchangeService.utils.InstrumentRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MarketStreamControllerTest {
+
+    private final InstrumentRegistry instrumentRegistry = InstrumentRegistry.open(4);
+    private final EngineEventBus bus = new EngineEventBus(instrumentRegistry, 1024, 16);
+    private final MarketStreamController controller = new MarketStreamController(bus, instrumentRegistry);
+
+    @AfterEach
+    void tearDown() {
+        bus.shutdown();
+    }
+
+    @Test
+    @DisplayName("Unknown Symbol Is Not Found And Registers Nothing")
+    void testUnknownSymbol() {
+        assertEquals(HttpStatus.NOT_FOUND, controller.stream("NOPE").getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, controller.trades("NOPE").getStatusCode());
+        assertNull(instrumentRegistry.find("NOPE"));
+        assertEquals(0, instrumentRegistry.size());
+    }
+
+    @Test
+    @DisplayName("Registered Symbol Is Streamed")
+    void testKnownSymbol() {
+        instrumentRegistry.resolve("AAPL");
+
+        assertEquals(HttpStatus.OK, controller.stream("AAPL").getStatusCode());
+        assertNotNull(controller.trades("AAPL").getBody());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.ExchangeService.ExchangeService.controller;
+
+import com.example.ExchangeService.ExchangeService.service.QuoteService;
+import com.example.ExchangeService.ExchangeService.service.QuoteStreamService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StockSSEControllerTest {
+
+    @Test
+    @DisplayName("A Stalled Client Does Not Hold Up Quotes For The Others")
+    void testStalledClientIsolated() throws InterruptedException {
+        QuoteStreamService quoteStreamService = mock(QuoteStreamService.class);
+        Flux<Map<String, String>> quotes = Flux.interval(Duration.ofMillis(10))
+                .map(tick -> Map.of("AAPL", String.valueOf(tick)))
+                .share();
+        when(quoteStreamService.getQuotes()).thenReturn(quotes);
+        StockSSEController controller = new StockSSEController(quoteStreamService, mock(QuoteService.class));
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch received = new CountDownLatch(20);
+        SseEmitter stalled = controller.attach(new SseEmitter(Long.MAX_VALUE) {
+            @Override
+            public void send(Object object, MediaType mediaType) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        SseEmitter healthy = controller.attach(new SseEmitter(Long.MAX_VALUE) {
+            @Override
+            public void send(Object object, MediaType mediaType) {
+                received.countDown();
+            }
+        });
+
+        try {
+            assertTrue(received.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            stalled.complete();
+            healthy.complete();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.ExchangeService.ExchangeService.loadtest;
+
+import com.example.ExchangeService.ExchangeService.Repositories.ProcessedEventsRepository;
+import com.example.ExchangeService.ExchangeService.enums.OrderSide;
+import com.example.ExchangeService.ExchangeService.enums.OrderType;
+import com.example.ExchangeService.ExchangeService.events.EventEnvelope;
+import com.example.ExchangeService.ExchangeService.events.OrderPlacedEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.HdrHistogram.Histogram;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// End-to-end throughput and latency: a seeded synthetic order flow is produced to orders.v1 on an
+// embedded broker, runs through OrdersEventConsumer -> MatchingEngineService -> ExecutionEventService
+// against H2, and latency is measured from (intended) send time to the first execution.v1 report
+// of each aggressing order. Results go to target/load-report.json and target/load-latency.hgrm.
+// Run with: mvn -Pload test [-Dload.messages=100000 -Dload.rate=5000 -Dload.seed=42]
+@Tag("load")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "retention.enabled=false",
+        "quotes.provider=stub",
+        "tape.dir=target/loadtest/tape",
+        "candles.checkpoint-file=target/loadtest/candles.bin",
+        "logging.level.com.example.ExchangeService=warn"
+})
+@EmbeddedKafka(partitions = 1, topics = {"orders.v1", "execution.v1", "marketdata.v1", "ticker.v1"},
+        bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class EndToEndLoadTest {
+
+    private static final String[] SYMBOLS = {"AAPL", "MSFT", "GOOG", "TSLA"};
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Autowired
+    private ProcessedEventsRepository eventsRepo;
+
+    @Value("${load.messages:20000}")
+    private int messages;
+
+    @Value("${load.rate:0}")
+    private int rate;               // msgs/sec, 0 = as fast as the producer goes
+
+    @Value("${load.seed:42}")
+    private long seed;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    @DisplayName("Sustained Throughput And Produce-To-Execution Latency")
+    void runLoad() throws Exception {
+        // Order ids are 1..messages, so per-order state lives in plain arrays
+        long[] sentAt = new long[messages + 1];
+        boolean[] reported = new boolean[messages + 1];
+        Histogram latency = new Histogram(3); // auto-resizing, a backed-up run can exceed any fixed ceiling
+        AtomicLong executionReports = new AtomicLong();
+        AtomicBoolean consuming = new AtomicBoolean(true);
+
+        Thread receiver = new Thread(() -> receive(sentAt, reported, latency, executionReports, consuming), "load-receiver");
+        receiver.start();
+
+        List<String> payloads = generateOrderFlow();
+        long start = System.nanoTime();
+        long interval = rate > 0 ? TimeUnit.SECONDS.toNanos(1) / rate : 0;
+        try (KafkaProducer<String, String> producer = new KafkaProducer<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.LINGER_MS_CONFIG, 1,
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class))) {
+            for (int i = 1; i <= messages; i++) {
+                // With a fixed rate, latency counts from the intended send time (no coordinated omission)
+                long intended = start + (i - 1) * interval;
+                if (interval > 0) {
+                    while (System.nanoTime() < intended) LockSupport.parkNanos(10_000);
+                }
+                synchronized (sentAt) {
+                    sentAt[i] = interval > 0 ? intended : System.nanoTime();
+                }
+                producer.send(new ProducerRecord<>("orders.v1", String.valueOf(i), payloads.get(i - 1)));
+            }
+        }
+        long produced = System.nanoTime();
+
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(10);
+        while (eventsRepo.count() < messages && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        long processed = System.nanoTime();
+        Thread.sleep(1_000); // let the last execution reports arrive
+        consuming.set(false);
+        receiver.join();
+
+        long processedCount = eventsRepo.count();
+        writeReport(processedCount, executionReports.get(), latency, start, produced, processed);
+        assertEquals(messages, processedCount, "not every order was processed before the deadline");
+        assertTrue(latency.getTotalCount() > 0, "no execution reports received");
+    }
+
+    // Limit orders around a per-symbol mid with a small share of market orders, from a fixed seed
+    private List<String> generateOrderFlow() throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] payloads = new String[messages];
+        for (int i = 1; i <= messages; i++) {
+            OrderPlacedEvent order = new OrderPlacedEvent();
+            order.setOrderId(String.valueOf(i));
+            order.setUserId("user" + random.nextInt(1_000));
+            order.setSymbol(SYMBOLS[random.nextInt(SYMBOLS.length)]);
+            order.setSide(random.nextBoolean() ? OrderSide.BUY : OrderSide.SELL);
+            order.setQuantity(1 + random.nextInt(200));
+            if (random.nextInt(20) == 0) {
+                order.setType(OrderType.MARKET);
+            } else {
+                order.setType(OrderType.LIMIT);
+                order.setPrice(100.0 + (random.nextInt(41) - 20) / 100.0);
+            }
+            EventEnvelope<Object> envelope = EventEnvelope.builder()
+                    .eventType("OrderPlaced")
+                    .schemaVersion("v1")
+                    .correlationId(UUID.randomUUID().toString())
+                    .producer("load-test")
+                    .timeStamp(Instant.now())
+                    .payload(order)
+                    .build();
+            payloads[i - 1] = objectMapper.writeValueAsString(envelope);
+        }
+        return List.of(payloads);
+    }
+
+    private void receive(long[] sentAt, boolean[] reported, Histogram latency, AtomicLong executionReports, AtomicBoolean consuming) {
+        try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ConsumerConfig.GROUP_ID_CONFIG, "load-test-receiver",
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class))) {
+            consumer.subscribe(List.of("execution.v1"));
+            while (consuming.get()) {
+                for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(50))) {
+                    long now = System.nanoTime();
+                    executionReports.incrementAndGet();
+                    JsonNode payload = objectMapper.readTree(record.value()).path("payload");
+                    // The aggressor is the newer of the two orders, i.e. the larger id
+                    int aggressor = (int) Math.max(payload.path("orderId").asLong(), payload.path("counterOrderId").asLong());
+                    if (aggressor <= 0 || aggressor >= reported.length || reported[aggressor]) continue;
+                    reported[aggressor] = true;
+                    long sent;
+                    synchronized (sentAt) {
+                        sent = sentAt[aggressor];
+                    }
+                    latency.recordValue(Math.max(now - sent, 0));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable execution report", e);
+        }
+    }
+
+    private void writeReport(long processedCount, long executionReports, Histogram latency,
+                             long start, long produced, long processed) throws IOException {
+        double seconds = (processed - start) / 1e9;
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("timestamp", Instant.now().toString());
+        report.put("seed", seed);
+        report.put("messages", messages);
+        report.put("targetRate", rate);
+        report.put("processed", processedCount);
+        report.put("executionReports", executionReports);
+        report.put("produceSeconds", (produced - start) / 1e9);
+        report.put("totalSeconds", seconds);
+        report.put("throughputMsgsPerSec", processedCount / seconds);
+        ObjectNode micros = report.putObject("latencyMicros");
+        micros.put("count", latency.getTotalCount());
+        micros.put("mean", latency.getMean() / 1_000);
+        micros.put("p50", latency.getValueAtPercentile(50) / 1_000.0);
+        micros.put("p90", latency.getValueAtPercentile(90) / 1_000.0);
+        micros.put("p99", latency.getValueAtPercentile(99) / 1_000.0);
+        micros.put("p999", latency.getValueAtPercentile(99.9) / 1_000.0);
+        micros.put("max", latency.getMaxValue() / 1_000.0);
+
+        Path target = Paths.get("target");
+        Files.createDirectories(target);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(target.resolve("load-report.json").toFile(), report);
+        try (PrintStream out = new PrintStream(new FileOutputStream(target.resolve("load-latency.hgrm").toFile()))) {
+            latency.outputPercentileDistribution(out, 1_000.0);
+        }
+        System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+    }
+}
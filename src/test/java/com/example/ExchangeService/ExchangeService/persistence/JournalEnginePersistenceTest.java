@@ -0,0 +1,164 @@
+package com.example.ExchangeService.ExchangeService.persistence;
+
+import com.example.ExchangeService.ExchangeService.entities.Execution;
+import com.example.ExchangeService.ExchangeService.entities.OrderStatus;
+import com.example.ExchangeService.ExchangeService.enums.OrderStatusE;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalEnginePersistenceTest {
+
+    @TempDir
+    Path dir;
+
+    private JournalEnginePersistence open(Path file) throws IOException {
+        JournalEnginePersistence journal = new JournalEnginePersistence(file.toString(), false, 1000);
+        journal.open();
+        return journal;
+    }
+
+    private void writeSomething(JournalEnginePersistence journal) {
+        Execution execution = Execution.builder()
+                .orderId(1L).counterOrderId(2L).userId("user1").instrumentSymbol("AAPL").side("BUY")
+                .quantity(BigDecimal.TEN).price(new BigDecimal("150.25")).notional(new BigDecimal("1502.50"))
+                .executedAt(LocalDateTime.now())
+                .build();
+        journal.saveExecution(execution);
+        journal.saveOrderStatus(OrderStatus.builder()
+                .orderId(1L).status(OrderStatusE.FILLED).filledQuantity(BigDecimal.TEN).updatedAt(Instant.now()).build());
+        journal.markProcessed("event-1", Instant.now());
+        journal.flush();
+    }
+
+    @Test
+    @DisplayName("Replay Restores Status, Dedupe Markers And Execution Ids")
+    void testReplay() throws IOException {
+        Path file = dir.resolve("engine.journal");
+        JournalEnginePersistence journal = open(file);
+        writeSomething(journal);
+        journal.close();
+
+        JournalEnginePersistence reopened = open(file);
+        assertTrue(reopened.isProcessed("event-1"));
+        assertFalse(reopened.isProcessed("event-2"));
+        List<OrderStatus> statuses = reopened.findOrderStatuses(List.of(1L, 2L));
+        assertEquals(1, statuses.size());
+        assertEquals(OrderStatusE.FILLED, statuses.get(0).getStatus());
+
+        Execution next = Execution.builder().price(BigDecimal.ONE).quantity(BigDecimal.ONE).build();
+        reopened.saveExecution(next);
+        assertEquals(2L, next.getId());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Torn Tail Record Is Truncated On Open")
+    void testTornTail() throws IOException {
+        Path file = dir.resolve("engine.journal");
+        JournalEnginePersistence journal = open(file);
+        writeSomething(journal);
+        journal.close();
+        long size = Files.size(file);
+        Files.write(file, new byte[]{0, 0, 0, 40, 'P', 1}, StandardOpenOption.APPEND);
+
+        JournalEnginePersistence reopened = open(file);
+        assertEquals(size, Files.size(file));
+        assertTrue(reopened.isProcessed("event-1"));
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Zero-Filled Tail Is Truncated On Open")
+    void testZeroTail() throws IOException {
+        Path file = dir.resolve("engine.journal");
+        JournalEnginePersistence journal = open(file);
+        writeSomething(journal);
+        journal.close();
+        long size = Files.size(file);
+        Files.write(file, new byte[4096], StandardOpenOption.APPEND);
+
+        JournalEnginePersistence reopened = open(file);
+        assertEquals(size, Files.size(file));
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Corruption Before The Tail Fails Startup And Leaves The File Alone")
+    void testCorruptionBeforeTail() throws IOException {
+        Path file = dir.resolve("engine.journal");
+        JournalEnginePersistence journal = open(file);
+        writeSomething(journal);
+        journal.close();
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[0] = (byte) 0xFF;
+        Files.write(file, bytes);
+
+        JournalEnginePersistence reopened = new JournalEnginePersistence(file.toString(), false, 1000);
+        IllegalStateException error = assertThrows(IllegalStateException.class, reopened::open);
+        assertTrue(error.getMessage().contains("offset 0"));
+        assertEquals(bytes.length, Files.size(file));
+    }
+
+    @Test
+    @DisplayName("Roll-Over Archives The Journal And Restarts It From A Snapshot")
+    void testRollOver() throws IOException {
+        Path file = dir.resolve("engine.journal");
+        JournalEnginePersistence journal = new JournalEnginePersistence(file.toString(), false, 1000, 1000, 1);
+        journal.open();
+        writeSomething(journal);
+        journal.saveOrderStatus(OrderStatus.builder()
+                .orderId(2L).status(OrderStatusE.PENDING).filledQuantity(BigDecimal.ZERO).updatedAt(Instant.now()).build());
+        journal.markProcessed("event-2", Instant.now());
+        journal.flush();
+        journal.close();
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(3, files.count());  // journal plus one archive per roll-over
+        }
+        JournalEnginePersistence reopened = open(file);
+        assertTrue(reopened.isProcessed("event-1"));
+        assertTrue(reopened.isProcessed("event-2"));
+        assertEquals(2, reopened.findOrderStatuses(List.of(1L, 2L)).size());
+        Execution next = Execution.builder().price(BigDecimal.ONE).quantity(BigDecimal.ONE).build();
+        reopened.saveExecution(next);
+        assertEquals(2L, next.getId());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Only Live Statuses Are Kept Beyond The Terminal Window")
+    void testTerminalWindow() throws IOException {
+        Path file = dir.resolve("engine.journal");
+        JournalEnginePersistence journal = new JournalEnginePersistence(file.toString(), false, 1000, 2, Long.MAX_VALUE);
+        journal.open();
+        journal.saveOrderStatus(OrderStatus.builder()
+                .orderId(10L).status(OrderStatusE.PENDING).filledQuantity(BigDecimal.ZERO).updatedAt(Instant.now()).build());
+        for (long orderId = 1; orderId <= 3; orderId++) {
+            journal.saveOrderStatus(OrderStatus.builder()
+                    .orderId(orderId).status(OrderStatusE.FILLED).filledQuantity(BigDecimal.ONE).updatedAt(Instant.now()).build());
+        }
+        journal.flush();
+        assertEquals(List.of(2L, 3L, 10L),
+                journal.findOrderStatuses(List.of(1L, 2L, 3L, 10L)).stream().map(OrderStatus::getOrderId).toList());
+        journal.close();
+
+        JournalEnginePersistence reopened = new JournalEnginePersistence(file.toString(), false, 1000, 2, Long.MAX_VALUE);
+        reopened.open();
+        assertEquals(List.of(2L, 3L, 10L),
+                reopened.findOrderStatuses(List.of(1L, 2L, 3L, 10L)).stream().map(OrderStatus::getOrderId).toList());
+        reopened.close();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.ExchangeService.ExchangeService.replay;
+
+import com.example.ExchangeService.ExchangeService.enums.OrderSide;
+import com.example.ExchangeService.ExchangeService.enums.OrderType;
+import com.example.ExchangeService.ExchangeService.events.EventEnvelope;
+import com.example.ExchangeService.ExchangeService.events.OrderPlacedEvent;
+import com.example.ExchangeService.ExchangeService.utils.CaptureFile;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayRunnerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @TempDir
+    Path dir;
+
+    private String envelope(String orderId, OrderSide side, int quantity, double price) throws IOException {
+        OrderPlacedEvent order = new OrderPlacedEvent();
+        order.setOrderId(orderId);
+        order.setUserId("user" + orderId);
+        order.setSymbol("AAPL");
+        order.setSide(side);
+        order.setType(OrderType.LIMIT);
+        order.setQuantity(quantity);
+        order.setPrice(price);
+        return objectMapper.writeValueAsString(EventEnvelope.builder()
+                .eventType("OrderPlaced")
+                .schemaVersion("v1")
+                .payload(order)
+                .timeStamp(Instant.now())
+                .build());
+    }
+
+    private Path capture(String counterPrice) throws IOException {
+        Path file = dir.resolve("orders.ocap");
+        try (CaptureFile.Writer writer = new CaptureFile.Writer(file)) {
+            writer.writeOrder(0, 0, 1_000L, envelope("1", OrderSide.BUY, 100, 10.00));
+            writer.writeOrder(0, 1, 2_000L, envelope("2", OrderSide.SELL, 40, 10.00));
+            writer.writeExecution(2, 1, counterPrice, "40");
+            writer.writeOrder(0, 2, 3_000L, envelope("3", OrderSide.SELL, 60, 9.90));
+            writer.writeExecution(3, 1, "10.0", "60");
+        }
+        return file;
+    }
+
+    @Test
+    @DisplayName("Replay Reproduces The Captured Executions")
+    void testReplayMatchesCapture() throws IOException {
+        ReplayReport report = new ReplayRunner(capture("10.0"), "max").run();
+
+        assertEquals(3, report.getOrders());
+        assertEquals(2, report.getReplayedExecutions());
+        assertTrue(report.isIdentical(), report.getFirstMismatch());
+    }
+
+    @Test
+    @DisplayName("Diverging Execution Is Reported")
+    void testReplayReportsMismatch() throws IOException {
+        ReplayReport report = new ReplayRunner(capture("10.5"), "max").run();
+
+        assertFalse(report.isIdentical());
+        assertEquals(1, report.getMismatches());
+        assertTrue(report.getFirstMismatch().startsWith("execution 0"));
+    }
+
+    @Test
+    @DisplayName("Torn Tail Ends The Capture Cleanly")
+    void testTornTail() throws IOException {
+        Path file = capture("10.0");
+        try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.APPEND)) {
+            out.write(new byte[]{CaptureFile.ORDER, 0, 0, 0}); // record cut off mid-header
+        }
+
+        ReplayReport report = new ReplayRunner(file, "100x").run();
+
+        assertEquals(3, report.getOrders());
+        assertTrue(report.isIdentical(), report.getFirstMismatch());
+    }
+
+    @Test
+    @DisplayName("Replay Rejects Off-Tick Orders With The Production Instrument Settings")
+    void testReplayUsesProductionInstruments() throws IOException {
+        Path file = dir.resolve("rejected.ocap");
+        try (CaptureFile.Writer writer = new CaptureFile.Writer(file)) {
+            writer.writeOrder(0, 0, 1_000L, envelope("1", OrderSide.BUY, 100, 10.00));
+            writer.writeOrder(0, 1, 2_000L, envelope("2", OrderSide.SELL, 40, 9.995)); // crosses, but off the 0.01 tick
+        }
+
+        ReplayReport report = new ReplayRunner(file, "max").run();
+        assertEquals(0, report.getReplayedExecutions());
+        assertTrue(report.isIdentical(), report.getFirstMismatch());
+
+        // Without the tick check the same capture would have traded
+        ReplayReport unchecked = new ReplayRunner(file, "max", new Properties()).run();
+        assertEquals(1, unchecked.getReplayedExecutions());
+        assertFalse(unchecked.isIdentical());
+    }
+}
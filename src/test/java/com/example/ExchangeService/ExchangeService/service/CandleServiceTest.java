@@ -0,0 +1,49 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.enums.CandleInterval;
+import com.example.ExchangeService.ExchangeService.events.Candle;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandleServiceTest {
+
+    @Test
+    @DisplayName("Bars Closed Concurrently By Two Threads Are All Delivered")
+    void testConcurrentEmit() throws InterruptedException {
+        CandleService candleService = new CandleService("target/candle-service-test/candles.bin");
+        String label = CandleInterval.values()[0].getLabel();
+        int perThread = 20_000;
+        AtomicInteger received = new AtomicInteger();
+        Disposable subscription = candleService.closedBars("AAPL", CandleInterval.values()[0])
+                .subscribe(bar -> received.incrementAndGet());
+
+        CountDownLatch start = new CountDownLatch(1);
+        Runnable closer = () -> {
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (int i = 0; i < perThread; i++) {
+                candleService.emit(Candle.builder().symbol("AAPL").interval(label).openTime(i).closed(true).build());
+            }
+        };
+        Thread matching = new Thread(closer);
+        Thread scheduler = new Thread(closer);
+        matching.start();
+        scheduler.start();
+        start.countDown();
+        matching.join(TimeUnit.SECONDS.toMillis(30));
+        scheduler.join(TimeUnit.SECONDS.toMillis(30));
+        subscription.dispose();
+
+        assertEquals(2 * perThread, received.get());
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.entities.Execution;
+import com.example.ExchangeService.ExchangeService.entities.Order;
+import com.example.ExchangeService.ExchangeService.enums.OrderSide;
+import com.example.ExchangeService.ExchangeService.enums.OrderStatusE;
+import com.example.ExchangeService.ExchangeService.enums.OrderType;
+import com.example.ExchangeService.ExchangeService.events.ExecutionReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DropCopyServiceTest {
+
+    private final DropCopyService dropCopyService = new DropCopyService(3, 16, 100);
+
+    private void fill(String userId, String orderId, int filled) {
+        fill(dropCopyService, userId, orderId, filled);
+    }
+
+    private static void fill(DropCopyService dropCopyService, String userId, String orderId, int filled) {
+        Order order = Order.builder()
+                .orderId(orderId)
+                .userId(userId)
+                .instrumentId("AAPL")
+                .orderSide(OrderSide.BUY)
+                .orderType(OrderType.LIMIT)
+                .quantity(100)
+                .filledQuantity(filled)
+                .build();
+        Execution execution = Execution.builder()
+                .orderId(Long.parseLong(orderId))
+                .counterOrderId(99L)
+                .quantity(BigDecimal.TEN)
+                .price(new BigDecimal("10.00"))
+                .executedAt(LocalDateTime.now())
+                .build();
+        dropCopyService.publish(order, execution, filled < 100 ? OrderStatusE.PARTIALLY_FILLED : OrderStatusE.FILLED);
+    }
+
+    @Test
+    @DisplayName("Resume Delivers Only Reports After The Last Seen Sequence")
+    void testResumeFromSequence() {
+        fill("user1", "1", 10);
+        fill("user1", "1", 20);
+        fill("user2", "2", 10);
+        fill("user1", "1", 30);
+
+        List<ExecutionReport> reports = dropCopyService.subscribe("user1", 1)
+                .take(2)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(List.of(2L, 3L), reports.stream().map(ExecutionReport::getSequence).toList());
+        assertTrue(reports.stream().allMatch(r -> r.getUserId().equals("user1")));
+        assertEquals("99", reports.get(0).getCounterOrderId());
+    }
+
+    @Test
+    @DisplayName("History Per User Is Bounded")
+    void testHistoryBounded() {
+        for (int i = 1; i <= 5; i++) {
+            fill("user1", "1", i);
+        }
+
+        ExecutionReport first = dropCopyService.subscribe("user1", 0).blockFirst(Duration.ofSeconds(5));
+        assertEquals(3, first.getSequence());
+        assertEquals(3, dropCopyService.getOldestRetainedSequence("user1"));
+    }
+
+    @Test
+    @DisplayName("Resume After A Restart Starts With A Reset Event")
+    void testResetAfterRestart() {
+        fill("user1", "1", 10);
+        String lastEventId = dropCopyService.stream("user1", null).blockFirst(Duration.ofSeconds(5)).id();
+
+        DropCopyService restarted = new DropCopyService(3, 16, 100);
+        fill(restarted, "user1", "1", 20);
+        List<ServerSentEvent<ExecutionReport>> events = restarted.stream("user1", lastEventId)
+                .take(2)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals("reset", events.get(0).event());
+        assertEquals(1, events.get(1).data().getSequence());
+        assertNotEquals(lastEventId.split(":")[0], events.get(1).id().split(":")[0]);
+    }
+
+    @Test
+    @DisplayName("Resume Into An Evicted And Recreated Channel Starts With A Reset Event")
+    void testResetAfterEviction() throws InterruptedException {
+        DropCopyService evicting = new DropCopyService(3, 16, 1, 0);
+        fill(evicting, "user1", "1", 10);
+        fill(evicting, "user1", "1", 20);
+        String lastEventId = evicting.stream("user1", null).take(2).blockLast(Duration.ofSeconds(5)).id();
+
+        Thread.sleep(5);
+        fill(evicting, "user2", "2", 10);   // evicts user1's idle channel
+        fill(evicting, "user1", "1", 30);   // recreated, sequence back at 1
+        List<ServerSentEvent<ExecutionReport>> events = evicting.stream("user1", lastEventId)
+                .take(2)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals("reset", events.get(0).event());
+        assertEquals(1, events.get(1).data().getSequence());
+        assertEquals(30, events.get(1).data().getFilledQuantity());
+    }
+
+    @Test
+    @DisplayName("Id Ahead Of The Channel Resets, Id Within History Resumes Without One")
+    void testAheadAndResume() {
+        fill("user1", "1", 10);
+        fill("user1", "1", 20);
+        String epoch = dropCopyService.stream("user1", null).blockFirst(Duration.ofSeconds(5)).id().split(":")[0];
+
+        assertEquals("reset", dropCopyService.stream("user1", epoch + ":500").blockFirst(Duration.ofSeconds(5)).event());
+        ServerSentEvent<ExecutionReport> resumed = dropCopyService.stream("user1", epoch + ":1").blockFirst(Duration.ofSeconds(5));
+        assertEquals("execution", resumed.event());
+        assertEquals(2, resumed.data().getSequence());
+    }
+}
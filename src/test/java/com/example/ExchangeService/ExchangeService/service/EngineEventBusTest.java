@@ -0,0 +1,88 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.entities.Execution;
+import com.example.ExchangeService.ExchangeService.events.TradeTick;
+import com.example.ExchangeService.ExchangeService.utils.BookSnapshot;
+import com.example.ExchangeService.ExchangeService.utils.Instrument;
+import com.example.ExchangeService.ExchangeService.utils.InstrumentRegistry;
+import com.example.ExchangeService.ExchangeService.utils.TradeResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EngineEventBusTest {
+
+    private final InstrumentRegistry instrumentRegistry = InstrumentRegistry.open(4);
+    private final Instrument aapl = instrumentRegistry.resolve("AAPL");
+    private final Instrument msft = instrumentRegistry.resolve("MSFT");
+    private final EngineEventBus bus = new EngineEventBus(instrumentRegistry, 1024, 16);
+
+    @AfterEach
+    void tearDown() {
+        bus.shutdown();
+    }
+
+    private TradeResult trade(String symbol, String price) {
+        Execution execution = Execution.builder()
+                .orderId(1L)
+                .counterOrderId(2L)
+                .instrumentSymbol(symbol)
+                .side("BUY")
+                .quantity(BigDecimal.TEN)
+                .price(new BigDecimal(price))
+                .executedAt(LocalDateTime.now())
+                .build();
+        return new TradeResult(execution, List.of());
+    }
+
+    private BookSnapshot snapshot(Instrument instrument, long version) {
+        return BookSnapshot.builder()
+                .instrumentId(instrument.getId())
+                .symbol(instrument.getSymbol())
+                .version(version)
+                .bids(List.of())
+                .asks(List.of())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Trades Are Routed To Subscribers Of Their Symbol Only")
+    void testTradesRoutedBySymbol() {
+        Mono<List<TradeTick>> received = bus.trades("AAPL").take(2).collectList().cache();
+        received.subscribe();
+
+        bus.publish(msft, List.of(trade("MSFT", "300.00")), null);
+        bus.publish(aapl, List.of(trade("AAPL", "150.00"), trade("AAPL", "150.10")), null);
+
+        List<TradeTick> ticks = received.block(Duration.ofSeconds(5));
+        assertEquals(new BigDecimal("150.00"), ticks.get(0).getPrice());
+        assertEquals(new BigDecimal("150.10"), ticks.get(1).getPrice());
+    }
+
+    @Test
+    @DisplayName("Late Subscriber Starts From The Current Top Of Book")
+    void testTopOfBookReplaysLatest() throws InterruptedException {
+        bus.publish(aapl, List.of(), snapshot(aapl, 1));
+        bus.publish(aapl, List.of(), snapshot(aapl, 2));
+        Thread.sleep(100);
+
+        BookSnapshot current = bus.topOfBook("AAPL").blockFirst(Duration.ofSeconds(5));
+        assertEquals(2, current.getVersion());
+    }
+
+    @Test
+    @DisplayName("Unregistered Symbol Gets An Empty Stream")
+    void testUnknownSymbol() {
+        assertTrue(bus.trades("TSLA").collectList().block(Duration.ofSeconds(5)).isEmpty());
+        assertNull(bus.topOfBook("TSLA").blockFirst(Duration.ofSeconds(5)));
+        assertNull(instrumentRegistry.find("TSLA"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.Repositories.ExecutionRepository;
+import com.example.ExchangeService.ExchangeService.Repositories.ExecutionView;
+import com.example.ExchangeService.ExchangeService.Repositories.OrderStatusRepository;
+import com.example.ExchangeService.ExchangeService.Repositories.OrderStatusView;
+import com.example.ExchangeService.ExchangeService.enums.OrderStatusE;
+import com.example.ExchangeService.ExchangeService.events.KeysetPage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HistoryQueryServiceTest {
+
+    @Mock
+    private ExecutionRepository execRepo;
+
+    @Mock
+    private OrderStatusRepository statusRepo;
+
+    @InjectMocks
+    private HistoryQueryService historyQueryService;
+
+    private ExecutionView row(long id, LocalDateTime executedAt) {
+        ExecutionView view = mock(ExecutionView.class);
+        lenient().when(view.getId()).thenReturn(id);
+        lenient().when(view.getExecutedAt()).thenReturn(executedAt);
+        return view;
+    }
+
+    private OrderStatusView statusRow(long orderId, Instant updatedAt) {
+        OrderStatusView view = mock(OrderStatusView.class);
+        lenient().when(view.getOrderId()).thenReturn(orderId);
+        lenient().when(view.getUpdatedAt()).thenReturn(updatedAt);
+        return view;
+    }
+
+    @Test
+    @DisplayName("Full Page Returns A Cursor That Seeks Past Its Last Row")
+    void testCursorRoundTrip() {
+        LocalDateTime time = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+        List<ExecutionView> firstRows = List.of(row(9, time), row(7, time));
+        List<ExecutionView> secondRows = List.of(row(3, time));
+        when(execRepo.findPageByUser(eq("user1"), any(), eq(Long.MAX_VALUE), eq(Limit.of(2)))).thenReturn(firstRows);
+
+        KeysetPage<ExecutionView> first = historyQueryService.getExecutionsByUser("user1", null, 2);
+        assertEquals("2026-01-02T03:04:05_7", first.getNextCursor());
+
+        when(execRepo.findPageByUser("user1", time, 7, Limit.of(2))).thenReturn(secondRows);
+        KeysetPage<ExecutionView> second = historyQueryService.getExecutionsByUser("user1", first.getNextCursor(), 2);
+        assertEquals(1, second.getItems().size());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Order Status Cursor Round-Trips And Pages Through Equal Update Times By Order Id")
+    void testOrderStatusCursor() {
+        // Sub-second precision has to survive the cursor, or rows sharing the second are skipped or repeated
+        Instant time = Instant.parse("2026-01-02T03:04:05.123456789Z");
+        List<OrderStatusView> firstRows = List.of(statusRow(9, time), statusRow(7, time));
+        List<OrderStatusView> secondRows = List.of(statusRow(5, time), statusRow(3, time));
+        List<OrderStatusView> thirdRows = List.of(statusRow(8, time.minusMillis(1)));
+        when(statusRepo.findPageByStatus(eq(OrderStatusE.FILLED), any(), eq(Long.MAX_VALUE), eq(Limit.of(2))))
+                .thenReturn(firstRows);
+
+        KeysetPage<OrderStatusView> first = historyQueryService.getOrdersByStatus(OrderStatusE.FILLED, null, 2);
+        assertEquals("2026-01-02T03:04:05.123456789Z_7", first.getNextCursor());
+
+        when(statusRepo.findPageByStatus(OrderStatusE.FILLED, time, 7, Limit.of(2)))
+                .thenReturn(secondRows);
+        KeysetPage<OrderStatusView> second = historyQueryService.getOrdersByStatus(OrderStatusE.FILLED, first.getNextCursor(), 2);
+        assertEquals(List.of(5L, 3L), second.getItems().stream().map(OrderStatusView::getOrderId).toList());
+        assertEquals("2026-01-02T03:04:05.123456789Z_3", second.getNextCursor());
+
+        when(statusRepo.findPageByStatus(OrderStatusE.FILLED, time, 3, Limit.of(2)))
+                .thenReturn(thirdRows);
+        KeysetPage<OrderStatusView> third = historyQueryService.getOrdersByStatus(OrderStatusE.FILLED, second.getNextCursor(), 2);
+        assertEquals(1, third.getItems().size());
+        assertNull(third.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Malformed Cursor Is Rejected")
+    void testMalformedCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> historyQueryService.getExecutionsBySymbol("AAPL", "garbage", 10));
+    }
+}
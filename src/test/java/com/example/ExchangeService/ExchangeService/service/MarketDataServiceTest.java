@@ -0,0 +1,131 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.entities.Order;
+import com.example.ExchangeService.ExchangeService.enums.OrderSide;
+import com.example.ExchangeService.ExchangeService.enums.OrderType;
+import com.example.ExchangeService.ExchangeService.events.EventEnvelope;
+import com.example.ExchangeService.ExchangeService.events.MarketDataEvent;
+import com.example.ExchangeService.ExchangeService.utils.BookSnapshot;
+import com.example.ExchangeService.ExchangeService.utils.EngineClock;
+import com.example.ExchangeService.ExchangeService.utils.Instrument;
+import com.example.ExchangeService.ExchangeService.utils.InstrumentRegistry;
+import com.example.ExchangeService.ExchangeService.utils.OrderBook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MarketDataServiceTest {
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private MarketDataService marketDataService;
+    private OrderBook orderBook;
+    private Instrument aapl;
+
+    @BeforeEach
+    void setUp() {
+        InstrumentRegistry instrumentRegistry = InstrumentRegistry.open(4);
+        marketDataService = new MarketDataService(kafkaTemplate, 5, new EngineClock(), instrumentRegistry);
+        orderBook = new OrderBook();
+        aapl = instrumentRegistry.resolve("AAPL");
+    }
+
+    private Order limit(String orderId, OrderSide side, int quantity, String price) {
+        return Order.builder()
+                .orderId(orderId)
+                .userId("user" + orderId)
+                .instrumentId("AAPL")
+                .orderSide(side)
+                .orderType(OrderType.LIMIT)
+                .quantity(quantity)
+                .price(new BigDecimal(price))
+                .timeStamp(Instant.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Delta Carries Sequence And Level Updates")
+    void testDeltaPublished() {
+        orderBook.addOrder(limit("1", OrderSide.BUY, 100, "10.00"));
+        marketDataService.onBookChanged(aapl, orderBook);
+        orderBook.addOrder(limit("2", OrderSide.SELL, 40, "10.00"));
+        marketDataService.onBookChanged(aapl, orderBook);
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate, atLeast(2)).send(eq("marketdata.v1"), eq("AAPL"), captor.capture());
+        List<MarketDataEvent> deltas = captor.getAllValues().stream()
+                .map(envelope -> (MarketDataEvent) ((EventEnvelope<?>) envelope).getPayload())
+                .filter(event -> event.getType().equals("DELTA"))
+                .toList();
+
+        assertEquals(2, deltas.size());
+        assertEquals(1, deltas.get(0).getSequence());
+        assertEquals(2, deltas.get(1).getSequence());
+        assertEquals(60, deltas.get(1).getUpdates().get(0).getQuantity());
+        assertEquals(60, deltas.get(1).getBestBidQuantity());
+    }
+
+    @Test
+    @DisplayName("Published Snapshot Is Versioned And Detached From The Live Book")
+    void testSnapshotPublished() {
+        orderBook.addOrder(limit("1", OrderSide.BUY, 100, "10.00"));
+        BookSnapshot first = marketDataService.onBookChanged(aapl, orderBook);
+        assertSame(first, marketDataService.getSnapshot("AAPL"));
+
+        orderBook.addOrder(limit("2", OrderSide.SELL, 50, "10.10"));
+        BookSnapshot second = marketDataService.onBookChanged(aapl, orderBook);
+        assertSame(second, marketDataService.getSnapshot("AAPL"));
+        assertSame(second, marketDataService.onBookChanged(aapl, orderBook));
+
+        assertEquals(1, first.getVersion());
+        assertNull(first.getBestAsk());
+        assertEquals(2, second.getVersion());
+        assertEquals(new BigDecimal("10.10"), second.getBestAsk());
+        assertThrows(UnsupportedOperationException.class, () -> second.getBids().clear());
+    }
+
+    @Test
+    @DisplayName("Idle Books Still Get Depth-Capped Periodic Snapshots")
+    void testPeriodicSnapshotsForIdleBook() {
+        for (int i = 0; i < 8; i++) {
+            orderBook.addOrder(limit(String.valueOf(i + 1), OrderSide.BUY, 100, "10.0" + i));
+        }
+        marketDataService.onBookChanged(aapl, orderBook);
+
+        marketDataService.publishSnapshots();
+        marketDataService.publishSnapshots();
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate, atLeast(2)).send(eq("marketdata.v1"), eq("AAPL"), captor.capture());
+        List<MarketDataEvent> snapshots = captor.getAllValues().stream()
+                .map(envelope -> (MarketDataEvent) ((EventEnvelope<?>) envelope).getPayload())
+                .filter(event -> event.getType().equals("SNAPSHOT"))
+                .toList();
+
+        assertEquals(2, snapshots.size());
+        assertEquals(1, snapshots.get(1).getSequence());
+        assertEquals(5, snapshots.get(1).getBids().size());
+        assertEquals(new BigDecimal("10.07"), snapshots.get(1).getBestBid());
+    }
+
+    @Test
+    @DisplayName("Unknown Symbol Has No Snapshot")
+    void testUnknownSymbol() {
+        assertNull(marketDataService.getSnapshot("MSFT"));
+    }
+}
@@ -12,11 +12,15 @@ import com.example.ExchangeService.ExchangeService.enums.OrderStatusE;
 import com.example.ExchangeService.ExchangeService.enums.OrderType;
 import com.example.ExchangeService.ExchangeService.enums.TimeInForce;
 import com.example.ExchangeService.ExchangeService.events.OrderPlacedEvent;
+import com.example.ExchangeService.ExchangeService.persistence.JpaEnginePersistence;
+import com.example.ExchangeService.ExchangeService.utils.EngineClock;
+import com.example.ExchangeService.ExchangeService.utils.InstrumentRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.ArgumentCaptor;
@@ -43,12 +47,37 @@ class MatchingEngineServiceTest {
     @Mock
     private ExecutionEventService kafkaProducerService;
 
-    @InjectMocks
+    @Mock
+    private MarketDataService marketDataService;
+
+    @Mock
+    private OrderBookMetrics orderBookMetrics;
+
+    @Mock
+    private EngineEventBus engineEventBus;
+
+    @Mock
+    private DropCopyService dropCopyService;
+
+    @Mock
+    private OrderStatusService orderStatusService;
+
     private MatchingEngineService matchingEngineService;
+    private SimpleMeterRegistry meterRegistry;
 
     @Captor
     private ArgumentCaptor<Execution> executionCaptor;
 
+    @BeforeEach
+    void setUp() {
+        // Repository interactions are verified through the JPA persistence implementation
+        meterRegistry = new SimpleMeterRegistry();
+        matchingEngineService = new MatchingEngineService(
+                new JpaEnginePersistence(execRepo, statusRepo, eventsRepo), kafkaProducerService, marketDataService,
+                orderBookMetrics, engineEventBus, dropCopyService, List.of(), orderStatusService,
+                new EngineStageMetrics(meterRegistry, 1_000), new EngineClock(), InstrumentRegistry.open(16));
+    }
+
     @Captor
     private ArgumentCaptor<OrderStatus> orderStatusCaptor;
 
@@ -168,6 +197,25 @@ class MatchingEngineServiceTest {
                 verify(kafkaProducerService, never()).publishOrderExecution(any(), any());
                 verify(eventsRepo, never()).save(any()); // Should not save again
             }
+
+            @Test
+            @DisplayName("Process Order Outside Lot Size - Rejected Without Touching The Book")
+            void testProcessRejectedOrder() {
+                matchingEngineService = new MatchingEngineService(
+                        new JpaEnginePersistence(execRepo, statusRepo, eventsRepo), kafkaProducerService, marketDataService,
+                        orderBookMetrics, engineEventBus, dropCopyService, List.of(), orderStatusService,
+                        new EngineStageMetrics(meterRegistry, 1_000), new EngineClock(),
+                        new InstrumentRegistry("AAPL:0.01:100", 16, true, BigDecimal.ZERO, 1, BigDecimal.ZERO));
+                OrderPlacedEvent event = createOrderPlacedEvent("1", "AAPL", OrderSide.BUY,
+                        OrderType.LIMIT, 150, 150.00);
+                when(eventsRepo.existsById("event-rejected")).thenReturn(false);
+                matchingEngineService.process("event-rejected", event);
+                verify(kafkaProducerService).publishOrderRejected(any(), contains("lot size"));
+                verify(orderStatusService).onOrderUpdated(any(), eq(OrderStatusE.REJECTED));
+                verify(eventsRepo).save(any());
+                assertNull(matchingEngineService.getOrderBook("AAPL"));
+                assertEquals(1, meterRegistry.counter("engine.orders.rejected").count());
+            }
         }
 
         @Nested
@@ -201,6 +249,33 @@ class MatchingEngineServiceTest {
                 List<OrderStatus> statuses = orderStatusCaptor.getAllValues();
                 assertEquals(2, statuses.size());
                 assertTrue(statuses.stream().allMatch(s -> s.getStatus() == OrderStatusE.FILLED));
+
+                assertEquals(2, meterRegistry.get("engine.orders").tag("type", "limit").counter().count());
+                assertEquals(1, meterRegistry.get("engine.fills").counter().count());
+                assertEquals(2, meterRegistry.get("engine.stage.latency").tag("stage", "match").timer().count());
+            }
+
+            @Test
+            @DisplayName("Fill Between Orders Without A User Completes And Is Marked Processed")
+            void testFillWithoutUserId() {
+                matchingEngineService = new MatchingEngineService(
+                        new JpaEnginePersistence(execRepo, statusRepo, eventsRepo), kafkaProducerService, marketDataService,
+                        orderBookMetrics, engineEventBus, new DropCopyService(16, 16, 100), List.of(), orderStatusService,
+                        new EngineStageMetrics(meterRegistry, 1_000), new EngineClock(), InstrumentRegistry.open(16));
+                OrderPlacedEvent buyEvent = createOrderPlacedEvent("1", "AAPL", OrderSide.BUY,
+                        OrderType.LIMIT, 100, 150.00);
+                OrderPlacedEvent sellEvent = createOrderPlacedEvent("2", "AAPL", OrderSide.SELL,
+                        OrderType.LIMIT, 100, 150.00);
+                buyEvent.setUserId(null);
+                sellEvent.setUserId(null);
+                when(eventsRepo.existsById(anyString())).thenReturn(false);
+
+                matchingEngineService.process("event-1", buyEvent);
+                matchingEngineService.process("event-2", sellEvent);
+
+                verify(execRepo).save(any());
+                verify(kafkaProducerService, times(2)).publishOrderExecution(any(), any());
+                verify(eventsRepo, times(2)).save(any());
             }
 
             @Test
@@ -0,0 +1,98 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.entities.Order;
+import com.example.ExchangeService.ExchangeService.entities.OrderStatus;
+import com.example.ExchangeService.ExchangeService.enums.OrderSide;
+import com.example.ExchangeService.ExchangeService.enums.OrderStatusE;
+import com.example.ExchangeService.ExchangeService.enums.OrderType;
+import com.example.ExchangeService.ExchangeService.events.OrderState;
+import com.example.ExchangeService.ExchangeService.persistence.EnginePersistence;
+import com.example.ExchangeService.ExchangeService.utils.EngineClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusServiceTest {
+
+    @Mock
+    private EnginePersistence persistence;
+
+    private OrderStatusService orderStatusService;
+
+    @BeforeEach
+    void setUp() {
+        orderStatusService = new OrderStatusService(persistence, 2, new EngineClock());
+    }
+
+    private Order order(String orderId, int quantity, int filled) {
+        Order order = Order.builder()
+                .orderId(orderId)
+                .instrumentId("AAPL")
+                .orderSide(OrderSide.BUY)
+                .orderType(OrderType.LIMIT)
+                .quantity(quantity)
+                .price(new BigDecimal("10.00"))
+                .timeStamp(Instant.now())
+                .build();
+        order.setFilledQuantity(filled);
+        return order;
+    }
+
+    @Test
+    @DisplayName("Live And Recently Filled Orders Are Answered Without The Database")
+    void testMemoryHits() {
+        orderStatusService.onOrderUpdated(order("1", 100, 40), OrderStatusE.PARTIALLY_FILLED);
+        orderStatusService.onOrderUpdated(order("2", 100, 100), OrderStatusE.FILLED);
+
+        List<OrderState> states = orderStatusService.getStatuses(List.of("1", "2"));
+
+        assertEquals(OrderStatusE.PARTIALLY_FILLED, states.get(0).getStatus());
+        assertEquals(OrderStatusE.FILLED, states.get(1).getStatus());
+        assertEquals(1, orderStatusService.getLiveCount());
+        verifyNoInteractions(persistence);
+    }
+
+    @Test
+    @DisplayName("Live Status Follows The Engine's Order Without Another Update")
+    void testLiveStatusIsDerived() {
+        Order resting = order("3", 100, 0);
+        orderStatusService.onOrderUpdated(resting, OrderStatusE.PENDING);
+        assertEquals(OrderStatusE.PENDING, orderStatusService.getStatus("3").getStatus());
+
+        // The book fills the same instance; the index holds no copy that could go stale
+        resting.setFilledQuantity(25);
+
+        OrderState state = orderStatusService.getStatus("3");
+        assertEquals(OrderStatusE.PARTIALLY_FILLED, state.getStatus());
+        assertEquals(0, new BigDecimal("25").compareTo(state.getFilledQuantity()));
+        assertEquals(100, state.getQuantity());
+    }
+
+    @Test
+    @DisplayName("Misses Are Read In One Batch Query")
+    void testDatabaseFallback() {
+        orderStatusService.onOrderUpdated(order("1", 100, 0), OrderStatusE.PENDING);
+        when(persistence.findOrderStatuses(List.of(7L, 8L))).thenReturn(List.of(
+                OrderStatus.builder().orderId(7L).status(OrderStatusE.FILLED).filledQuantity(BigDecimal.TEN).build()));
+
+        List<OrderState> states = orderStatusService.getStatuses(List.of("1", "7", "8"));
+
+        assertEquals(2, states.size());
+        assertEquals("7", states.get(1).getOrderId());
+        // Filled rows are cached, so the next lookup stays in memory
+        assertEquals(OrderStatusE.FILLED, orderStatusService.getStatus("7").getStatus());
+        verify(persistence, times(1)).findOrderStatuses(any());
+    }
+}
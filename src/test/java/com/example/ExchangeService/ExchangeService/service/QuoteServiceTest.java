@@ -0,0 +1,79 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuoteServiceTest {
+
+    @Test
+    @DisplayName("Concurrent Requests For One Symbol Share A Single Upstream Subscription")
+    void testRequestsCoalesced() throws InterruptedException {
+        // Counted at subscription, not at assembly, so a Mono that is built once but subscribed twice fails
+        AtomicInteger subscriptions = new AtomicInteger();
+        Sinks.One<String> upstream = Sinks.one();
+        QuoteService quoteService = new QuoteService(symbol -> Mono.defer(() -> upstream.asMono())
+                .doOnSubscribe(s -> subscriptions.incrementAndGet()), 60_000, 10, 4);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<String> received = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                quoteService.getQuote("AAPL").subscribe(value -> {
+                    received.add(value);
+                    done.countDown();
+                });
+            }).start();
+        }
+        start.countDown();
+        while (subscriptions.get() == 0) {
+            Thread.onSpinWait();
+        }
+        Thread.sleep(50);
+        upstream.tryEmitValue("{\"c\":1}");
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("{\"c\":1}", "{\"c\":1}"), received);
+        assertEquals("{\"c\":1}", quoteService.getQuote("AAPL").block());
+        assertEquals(1, subscriptions.get());
+    }
+
+    @Test
+    @DisplayName("Expired Entries Are Fetched Again")
+    void testTtlExpiry() {
+        AtomicInteger calls = new AtomicInteger();
+        QuoteService quoteService = new QuoteService(
+                symbol -> Mono.fromSupplier(() -> "q" + calls.incrementAndGet()), 0, 10, 4);
+
+        assertEquals("q1", quoteService.getQuote("AAPL").block());
+        assertEquals("q2", quoteService.getQuote("AAPL").block());
+    }
+
+    @Test
+    @DisplayName("Failed Symbols Are Left Out Of A Batch")
+    void testBatchSkipsFailures() {
+        QuoteService quoteService = new QuoteService(symbol -> symbol.equals("BAD")
+                ? Mono.error(new IllegalStateException("boom"))
+                : Mono.just(symbol.toLowerCase()), 60_000, 10, 4);
+
+        Map<String, String> quotes = quoteService.getQuotes(List.of("AAPL", "BAD", "MSFT")).block();
+        assertEquals(List.of("AAPL", "MSFT"), List.copyOf(quotes.keySet()));
+        assertEquals("msft", quotes.get("MSFT"));
+    }
+}
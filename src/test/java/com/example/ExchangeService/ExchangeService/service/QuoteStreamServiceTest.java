@@ -0,0 +1,73 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuoteStreamServiceTest {
+
+    @Test
+    @DisplayName("Deltas Carry Only Changed Symbols Between Keyframes")
+    void testDeltaFrames() {
+        AtomicInteger ticks = new AtomicInteger();
+        // Only AAPL moves; MSFT stays flat
+        QuoteProvider provider = symbol -> Mono.fromSupplier(() ->
+                symbol.equals("AAPL") ? "a" + ticks.incrementAndGet() : "m");
+        QuoteService quoteService = new QuoteService(provider, 0, 10, 2);
+        QuoteStreamService streamService = new QuoteStreamService(quoteService, "AAPL,MSFT", 10, 3);
+
+        List<ServerSentEvent<Map<String, String>>> frames = streamService.getQuoteDeltas(null)
+                .take(4)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals("keyframe", frames.get(0).event());
+        assertEquals(Set.of("AAPL", "MSFT"), frames.get(0).data().keySet());
+        assertEquals("delta", frames.get(1).event());
+        assertEquals(Set.of("AAPL"), frames.get(1).data().keySet());
+        assertEquals("keyframe", frames.get(3).event());
+    }
+
+    @Test
+    @DisplayName("Clients Only Receive Their Requested Symbols")
+    void testSymbolSubset() {
+        QuoteService quoteService = new QuoteService(symbol -> Mono.just(symbol), 0, 10, 2);
+        QuoteStreamService streamService = new QuoteStreamService(quoteService, "AAPL,MSFT,TSLA", 10, 5);
+
+        ServerSentEvent<Map<String, String>> first = streamService.getQuoteDeltas(List.of("TSLA"))
+                .blockFirst(Duration.ofSeconds(5));
+
+        assertEquals(Map.of("TSLA", "TSLA"), first.data());
+    }
+
+    @Test
+    @DisplayName("Keyframes Follow The Poll Count Even When Nothing Changes")
+    void testKeyframesOnQuietStream() {
+        AtomicInteger polls = new AtomicInteger();
+        QuoteProvider provider = symbol -> Mono.fromSupplier(() -> {
+            polls.incrementAndGet();
+            return "flat";
+        });
+        QuoteService quoteService = new QuoteService(provider, 0, 10, 2);
+        QuoteStreamService streamService = new QuoteStreamService(quoteService, "AAPL", 10, 3);
+
+        List<ServerSentEvent<Map<String, String>>> frames = streamService.getQuoteDeltas(null)
+                .take(3)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // Polls 0, 3 and 6 are keyframes; the unchanged polls in between send nothing
+        assertTrue(frames.stream().allMatch(frame -> "keyframe".equals(frame.event())));
+        assertEquals(List.of("0", "1", "2"), frames.stream().map(ServerSentEvent::id).toList());
+        assertTrue(polls.get() >= 7);
+    }
+}
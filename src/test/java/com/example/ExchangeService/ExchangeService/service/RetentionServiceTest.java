@@ -0,0 +1,108 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetentionServiceTest {
+
+    private final LocalDate today = LocalDate.of(2026, 10, 19);
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:retention-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE processed_events (event_id VARCHAR(255) PRIMARY KEY, processed_at TIMESTAMP(6))");
+        jdbcTemplate.execute("CREATE TABLE executions (id BIGINT AUTO_INCREMENT PRIMARY KEY, executed_at TIMESTAMP(6))");
+    }
+
+    private RetentionService service(boolean migratePartitions, int deleteBatchSize) {
+        return new RetentionService(jdbcTemplate, 90, 7, 3, "target/retention-test", migratePartitions, deleteBatchSize);
+    }
+
+    private void processed(String eventId, LocalDate day) {
+        jdbcTemplate.update("INSERT INTO processed_events (event_id, processed_at) VALUES (?, ?)",
+                eventId, Timestamp.valueOf(day.atTime(12, 0)));
+    }
+
+    @Test
+    @DisplayName("Partitions Are Pre-Created Past The Newest Day Only")
+    void testMissingDays() {
+        List<String> partitions = List.of("p20261018", "p20261019", "p20261020", "pmax");
+
+        assertEquals(List.of(LocalDate.of(2026, 10, 21), LocalDate.of(2026, 10, 22)),
+                RetentionService.missingDays(partitions, today, 3));
+        assertEquals(4, RetentionService.missingDays(List.of("pmax"), today, 3).size());
+    }
+
+    @Test
+    @DisplayName("Only Days Older Than The Retention Window Expire")
+    void testExpiredPartitions() {
+        List<String> partitions = List.of("p20261011", "p20261012", "p20261013", "p20261019", "pmax");
+
+        assertEquals(List.of("p20261011"), RetentionService.expiredPartitions(partitions, today, 7));
+        assertEquals("p20261019", RetentionService.partitionName(today));
+    }
+
+    @Test
+    @DisplayName("Initial Partitions Are Back-Dated To The Oldest Row")
+    void testInitialPartitionDays() {
+        List<LocalDate> days = RetentionService.initialPartitionDays(LocalDate.of(2026, 10, 16), today);
+
+        assertEquals(4, days.size());
+        assertEquals(LocalDate.of(2026, 10, 16), days.get(0));
+        assertEquals(today, days.get(3));
+        assertEquals(List.of(today), RetentionService.initialPartitionDays(null, today));
+    }
+
+    @Test
+    @DisplayName("Archive Fields With Separators, Quotes Or Newlines Are Quoted")
+    void testCsvField() {
+        assertEquals("AAPL", RetentionService.csvField("AAPL"));
+        assertEquals("", RetentionService.csvField(null));
+        assertEquals("\"a,b\"", RetentionService.csvField("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", RetentionService.csvField("say \"hi\""));
+        assertEquals("\"two\nlines\"", RetentionService.csvField("two\nlines"));
+    }
+
+    @Test
+    @DisplayName("Expired Processed Events Are Deleted In Batches And Event Ids Stay Unique")
+    void testTrimProcessedEvents() {
+        for (int i = 0; i < 5; i++) {
+            processed("old-" + i, today.minusDays(30));
+        }
+        processed("edge", today.minusDays(7));
+        processed("new", today.minusDays(1));
+
+        assertEquals(5, service(false, 2).trimProcessedEvents(today));
+
+        assertEquals(List.of("edge", "new"),
+                jdbcTemplate.queryForList("SELECT event_id FROM processed_events ORDER BY event_id", String.class));
+        assertThrows(DataIntegrityViolationException.class, () -> processed("new", today));
+    }
+
+    @Test
+    @DisplayName("Maintenance Without The Migration Opt-In Leaves Tables And Keys Alone")
+    void testNoMigrationByDefault() {
+        jdbcTemplate.update("INSERT INTO executions (executed_at) VALUES (?)", Timestamp.valueOf(today.minusDays(200).atStartOfDay()));
+        processed("kept", today);
+
+        service(false, 100).runMaintenance();
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM executions", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM processed_events", Integer.class));
+        assertThrows(DataIntegrityViolationException.class, () -> processed("kept", today));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import com.example.ExchangeService.ExchangeService.entities.Execution;
+import com.example.ExchangeService.ExchangeService.events.TapeTrade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TradeTapeServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private Execution execution(long orderId, String symbol, LocalDateTime executedAt) {
+        return Execution.builder()
+                .orderId(orderId)
+                .counterOrderId(orderId + 1_000)
+                .instrumentSymbol(symbol)
+                .side("BUY")
+                .quantity(BigDecimal.TEN)
+                .price(new BigDecimal("150.25"))
+                .executedAt(executedAt)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Queries Span Rolled Segments And Survive A Restart")
+    void testQueryAcrossSegments() throws IOException {
+        LocalDateTime start = LocalDateTime.now().withNano(0);
+        TradeTapeService tape = new TradeTapeService(dir.toString(), 2);
+        tape.open();
+        for (int i = 0; i < 5; i++) {
+            tape.onExecution(execution(i, i % 2 == 0 ? "AAPL" : "MSFT", start.plusSeconds(i)));
+        }
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(3, files.filter(f -> f.toString().endsWith(".tape")).count());
+        }
+        List<TapeTrade> all = tape.query(null, 0, Long.MAX_VALUE, 100);
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), all.stream().map(TapeTrade::getOrderId).toList());
+        assertEquals(List.of(0L, 2L, 4L),
+                tape.query("AAPL", 0, Long.MAX_VALUE, 100).stream().map(TapeTrade::getOrderId).toList());
+        assertEquals(2, tape.query(null, 0, Long.MAX_VALUE, 2).size());
+        tape.close();
+
+        TradeTapeService reopened = new TradeTapeService(dir.toString(), 2);
+        reopened.open();
+        reopened.onExecution(execution(5, "MSFT", start.plusSeconds(5)));
+        assertEquals(List.of(1L, 3L, 5L),
+                reopened.query("MSFT", 0, Long.MAX_VALUE, 100).stream().map(TapeTrade::getOrderId).toList());
+        reopened.close();
+    }
+}
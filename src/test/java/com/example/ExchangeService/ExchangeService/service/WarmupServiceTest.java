@@ -0,0 +1,64 @@
+package com.example.ExchangeService.ExchangeService.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WarmupServiceTest {
+
+    @Mock
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    private MessageListenerContainer container;
+
+    @Mock
+    private MatchingEngineService matchingEngine;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrdersEventConsumer ordersConsumer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ordersConsumer = new OrdersEventConsumer(matchingEngine, null, null);
+        when(listenerRegistry.getListenerContainer(OrdersEventConsumer.LISTENER_ID)).thenReturn(container);
+    }
+
+    @Test
+    @DisplayName("Consumer Starts Only After The Warm-Up Completes")
+    void testWarmupThenStart() {
+        WarmupService warmup = new WarmupService(ordersConsumer, listenerRegistry, meterRegistry, true, 2_000);
+
+        warmup.warmUpAndStart();
+
+        verify(container).start();
+        verifyNoInteractions(matchingEngine); // synthetic flow never touches the real engine
+        assertFalse(warmup.isFailed());
+        assertEquals(2_000, warmup.getProcessedOrders());
+        assertEquals(0, warmup.getRejectedOrders());
+        assertEquals(1.0, meterRegistry.get("engine.warmup.progress").gauge().value());
+        assertTrue(meterRegistry.get("engine.warmup.duration").timeGauge().value() > 0);
+    }
+
+    @Test
+    @DisplayName("Disabled Warm-Up Starts The Consumer Straight Away")
+    void testDisabled() {
+        WarmupService warmup = new WarmupService(ordersConsumer, listenerRegistry, meterRegistry, false, 2_000);
+
+        warmup.warmUpAndStart();
+
+        verify(container).start();
+        assertEquals(0.0, meterRegistry.get("engine.warmup.duration").timeGauge().value());
+    }
+}
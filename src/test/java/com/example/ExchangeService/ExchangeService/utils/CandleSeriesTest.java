@@ -0,0 +1,84 @@
+package com.example.ExchangeService.ExchangeService.utils;
+
+import com.example.ExchangeService.ExchangeService.enums.CandleInterval;
+import com.example.ExchangeService.ExchangeService.events.Candle;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandleSeriesTest {
+
+    @Test
+    @DisplayName("Trades In One Period Update The Same Bar")
+    void testAggregation() {
+        CandleSeries series = new CandleSeries("AAPL", CandleInterval.M1);
+        assertNull(series.onTrade(60_000, 10.0, 5));
+        assertNull(series.onTrade(70_000, 12.0, 3));
+        assertNull(series.onTrade(80_000, 9.0, 2));
+
+        Candle bar = series.getCandles(0, Long.MAX_VALUE, 10).get(0);
+        assertEquals(60_000, bar.getOpenTime());
+        assertEquals(10.0, bar.getOpen());
+        assertEquals(12.0, bar.getHigh());
+        assertEquals(9.0, bar.getLow());
+        assertEquals(9.0, bar.getClose());
+        assertEquals(10, bar.getVolume());
+        assertEquals(3, bar.getTrades());
+        assertFalse(bar.isClosed());
+    }
+
+    @Test
+    @DisplayName("Bar Is Reported Closed Exactly Once")
+    void testClose() {
+        CandleSeries series = new CandleSeries("AAPL", CandleInterval.M1);
+        series.onTrade(60_000, 10.0, 5);
+
+        assertNull(series.closeIfDue(119_999));
+        Candle closed = series.closeIfDue(120_000);
+        assertTrue(closed.isClosed());
+        assertNull(series.onTrade(130_000, 11.0, 1));
+        assertEquals(2, series.getCandles(0, Long.MAX_VALUE, 10).size());
+    }
+
+    @Test
+    @DisplayName("Ring Keeps Only The Newest Bars")
+    void testRingOverwrite() {
+        CandleSeries series = new CandleSeries("AAPL", CandleInterval.S1);
+        int capacity = CandleInterval.S1.getCapacity();
+        for (int i = 0; i < capacity + 10; i++) {
+            series.onTrade(i * 1_000L, 10.0, 1);
+        }
+
+        List<Candle> bars = series.getCandles(0, Long.MAX_VALUE, Integer.MAX_VALUE);
+        assertEquals(capacity, bars.size());
+        assertEquals(10_000, bars.get(0).getOpenTime());
+    }
+
+    @Test
+    @DisplayName("Checkpoint Round Trip Restores Bars")
+    void testCheckpoint() throws IOException {
+        CandleSeries series = new CandleSeries("AAPL", CandleInterval.M1);
+        series.onTrade(60_000, 10.0, 5);
+        series.onTrade(120_000, 11.0, 4);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        series.writeTo(new DataOutputStream(bytes));
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals("AAPL", in.readUTF());
+        assertEquals("M1", in.readUTF());
+        int size = in.readInt();
+        boolean closed = in.readBoolean();
+
+        CandleSeries restored = new CandleSeries("AAPL", CandleInterval.M1);
+        restored.readFrom(in, size, closed);
+        assertEquals(series.getCandles(0, Long.MAX_VALUE, 10), restored.getCandles(0, Long.MAX_VALUE, 10));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.ExchangeService.ExchangeService.utils;
+
+import com.example.ExchangeService.ExchangeService.entities.Execution;
+import com.example.ExchangeService.ExchangeService.entities.Order;
+import com.example.ExchangeService.ExchangeService.enums.OrderSide;
+import com.example.ExchangeService.ExchangeService.enums.OrderType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EngineClockTest {
+
+    private static Order limit(String orderId, OrderSide side, int quantity, long sequence, Instant timeStamp) {
+        return Order.builder()
+                .orderId(orderId)
+                .userId("user" + orderId)
+                .instrumentId("AAPL")
+                .orderSide(side)
+                .orderType(OrderType.LIMIT)
+                .quantity(quantity)
+                .price(new BigDecimal("10.00"))
+                .sequence(sequence)
+                .timeStamp(timeStamp)
+                .build();
+    }
+
+    @Test
+    @DisplayName("One Tick Gives One Cached Time And Fresh Ids")
+    void testTickCachesTime() {
+        EngineClock clock = new EngineClock(Clock.systemUTC());
+        Instant eventTime = Instant.parse("2024-03-01T10:15:30.123Z");
+
+        assertEquals(1, clock.tick(eventTime));
+        assertEquals(eventTime, clock.now());
+        assertSame(clock.localNow(), clock.localNow());
+        assertEquals("1-1", clock.nextId());
+        assertEquals("1-2", clock.nextId());
+
+        clock.tick(eventTime.plusMillis(1));
+        assertEquals(2, clock.getSequence());
+        assertEquals("2-1", clock.nextId());
+    }
+
+    @Test
+    @DisplayName("Sequence Decides Time Priority And Executions Carry Event Time")
+    void testSequencePriority() {
+        EngineClock clock = new EngineClock(Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+        OrderBook book = new OrderBook(clock);
+        Instant later = Instant.parse("2024-03-01T10:00:00Z");
+        // Order 1 arrived first (lower sequence) even though its wall-clock stamp is later
+        book.addOrder(limit("1", OrderSide.BUY, 10, 1, later));
+        book.addOrder(limit("2", OrderSide.BUY, 10, 2, later.minusSeconds(60)));
+
+        Instant eventTime = Instant.parse("2024-03-01T10:00:05Z");
+        clock.tick(eventTime);
+        List<TradeResult> results = book.addOrder(limit("3", OrderSide.SELL, 10, 3, eventTime));
+
+        Execution execution = results.get(0).getExecution();
+        assertEquals(1L, execution.getCounterOrderId());
+        assertEquals(LocalDateTime.ofInstant(eventTime, ZoneOffset.UTC), execution.getExecutedAt());
+    }
+}
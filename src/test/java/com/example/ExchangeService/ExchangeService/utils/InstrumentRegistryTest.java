@@ -0,0 +1,77 @@
+package com.example.ExchangeService.ExchangeService.utils;
+
+import com.example.ExchangeService.ExchangeService.entities.Order;
+import com.example.ExchangeService.ExchangeService.enums.OrderSide;
+import com.example.ExchangeService.ExchangeService.enums.OrderType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentRegistryTest {
+
+    private static Order limit(int quantity, String price) {
+        return Order.builder()
+                .orderId("1")
+                .userId("user1")
+                .instrumentId("AAPL")
+                .orderSide(OrderSide.BUY)
+                .orderType(OrderType.LIMIT)
+                .quantity(quantity)
+                .price(new BigDecimal(price))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Configured Symbols Get Dense Ids In Order, Unknown Ones Follow")
+    void testIdAssignment() {
+        InstrumentRegistry registry = new InstrumentRegistry("AAPL:0.01, MSFT", 4, true,
+                BigDecimal.ZERO, 1, BigDecimal.ZERO);
+
+        assertEquals(0, registry.find("AAPL").getId());
+        assertEquals(1, registry.find("MSFT").getId());
+        assertNull(registry.find("TSLA"));
+        assertEquals(2, registry.resolve("TSLA").getId());
+        assertSame(registry.get(2), registry.resolve("TSLA"));
+        assertEquals(3, registry.size());
+    }
+
+    @Test
+    @DisplayName("Closed Or Full Registry Does Not Admit New Symbols")
+    void testNoAdmission() {
+        InstrumentRegistry closed = new InstrumentRegistry("AAPL", 4, false, BigDecimal.ZERO, 1, BigDecimal.ZERO);
+        assertNull(closed.resolve("MSFT"));
+
+        InstrumentRegistry full = InstrumentRegistry.open(1);
+        assertNotNull(full.resolve("AAPL"));
+        assertNull(full.resolve("MSFT"));
+    }
+
+    @Test
+    @DisplayName("Prices Snap To The Tick, Off-Tick And Off-Lot Orders Are Rejected")
+    void testTickAndLot() {
+        Instrument aapl = new InstrumentRegistry("AAPL:0.05:10", 4, true, BigDecimal.ZERO, 1, BigDecimal.ZERO)
+                .find("AAPL");
+
+        Order noisy = limit(20, "100.05000000000001");
+        assertNull(aapl.validate(noisy, 0));
+        assertEquals(0, new BigDecimal("100.05").compareTo(noisy.getPrice()));
+
+        assertNotNull(aapl.validate(limit(20, "100.03"), 0));
+        assertNotNull(aapl.validate(limit(15, "100.05"), 0));
+    }
+
+    @Test
+    @DisplayName("Price Band Applies Around The Last Trade Once There Is One")
+    void testPriceBand() {
+        Instrument aapl = new InstrumentRegistry("AAPL:0.01:1:10", 4, true, BigDecimal.ZERO, 1, BigDecimal.ZERO)
+                .find("AAPL");
+
+        assertNull(aapl.validate(limit(1, "500.00"), 0));
+        assertNull(aapl.validate(limit(1, "110.00"), Prices.toRaw(new BigDecimal("100.00"))));
+        assertNotNull(aapl.validate(limit(1, "110.01"), Prices.toRaw(new BigDecimal("100.00"))));
+        assertNotNull(aapl.validate(limit(1, "89.99"), Prices.toRaw(new BigDecimal("100.00"))));
+    }
+}
@@ -2,15 +2,23 @@ package com.example.ExchangeService.ExchangeService.utils;
 
 import com.example.ExchangeService.ExchangeService.entities.Execution;
 import com.example.ExchangeService.ExchangeService.entities.Order;
+import com.example.ExchangeService.ExchangeService.enums.LevelAction;
 import com.example.ExchangeService.ExchangeService.enums.OrderSide;
 import com.example.ExchangeService.ExchangeService.enums.OrderType;
+import com.example.ExchangeService.ExchangeService.events.PriceLevel;
+import com.example.ExchangeService.ExchangeService.events.PriceLevelUpdate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.mockito.MockitoAnnotations;
 
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
@@ -296,6 +304,30 @@ public class OrderBookTest {
             assertTrue(results.size() >= 1);
         }
 
+        @Test
+        @DisplayName("Stop Trigger Emits A Stop Cascade JFR Event")
+        void testStopCascadeJfrEvent() throws Exception {
+            Path file = Files.createTempFile("stop-cascade", ".jfr");
+            try (Recording recording = new Recording()) {
+                recording.enable("exchange.StopCascade");
+                recording.start();
+                orderBook.addOrder(createOrder("1", OrderType.LIMIT, OrderSide.BUY, 50, new BigDecimal("10.00"), "user1"));
+                orderBook.addOrder(createOrder("2", OrderType.LIMIT, OrderSide.SELL, 50, new BigDecimal("10.00"), "user2"));
+                orderBook.addOrder(createStopOrder("3", OrderType.STOP_MARKET, OrderSide.SELL, 100, null, new BigDecimal("9.50"), "user3"));
+                orderBook.addOrder(createOrder("4", OrderType.LIMIT, OrderSide.SELL, 50, new BigDecimal("9.40"), "user4"));
+                orderBook.addOrder(createOrder("5", OrderType.LIMIT, OrderSide.BUY, 50, new BigDecimal("9.40"), "user5"));
+                recording.stop();
+                recording.dump(file);
+            }
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            Files.deleteIfExists(file);
+            assertEquals(1, events.size());
+            assertEquals("AAPL", events.get(0).getString("symbol"));
+            assertEquals(1, events.get(0).getInt("triggered"));
+            assertEquals(9.40, events.get(0).getDouble("triggerPrice"), 1e-9);
+        }
+
         @Test
         @DisplayName("Stop Limit Order - Not triggered")
         void testStopLimitNotTriggered() {
@@ -457,4 +489,103 @@ public class OrderBookTest {
                     .anyMatch(result -> result.getExecution().getPrice().equals(new BigDecimal("10.50"))));
         }
     }
+
+    @Nested
+    @DisplayName("Market Depth Tests")
+    class MarketDepthTests {
+
+        @Test
+        @DisplayName("Resting Limit Orders Aggregate Per Price Level")
+        void testRestingOrdersAggregate() {
+            orderBook.addOrder(createOrder("1", OrderType.LIMIT, OrderSide.BUY, 100, new BigDecimal("10.00"), "user1"));
+            orderBook.addOrder(createOrder("2", OrderType.LIMIT, OrderSide.BUY, 50, new BigDecimal("10.00"), "user2"));
+            orderBook.addOrder(createOrder("3", OrderType.LIMIT, OrderSide.BUY, 70, new BigDecimal("9.90"), "user3"));
+            orderBook.addOrder(createOrder("4", OrderType.LIMIT, OrderSide.SELL, 30, new BigDecimal("10.20"), "user4"));
+
+            MarketDepth depth = orderBook.getDepth();
+            List<PriceLevel> bids = depth.getLevels(OrderSide.BUY, 10);
+            assertEquals(2, bids.size());
+            assertEquals(new BigDecimal("10.00"), bids.get(0).getPrice());
+            assertEquals(150, bids.get(0).getQuantity());
+            assertEquals(70, bids.get(1).getQuantity());
+            assertEquals(new BigDecimal("10.20"), depth.getBest(OrderSide.SELL).getKey());
+        }
+
+        @Test
+        @DisplayName("Sweep Through Several Levels Drains As One Conflated Batch")
+        void testSweepConflatesLevelChanges() {
+            orderBook.addOrder(createOrder("1", OrderType.LIMIT, OrderSide.SELL, 10, new BigDecimal("10.00"), "user1"));
+            orderBook.addOrder(createOrder("2", OrderType.LIMIT, OrderSide.SELL, 10, new BigDecimal("10.10"), "user2"));
+            orderBook.addOrder(createOrder("3", OrderType.LIMIT, OrderSide.SELL, 10, new BigDecimal("10.20"), "user3"));
+            orderBook.getDepth().drainChanges();
+
+            orderBook.addOrder(createOrder("4", OrderType.LIMIT, OrderSide.BUY, 25, new BigDecimal("10.20"), "user4"));
+            List<PriceLevelUpdate> updates = orderBook.getDepth().drainChanges();
+
+            assertEquals(3, updates.size());
+            assertEquals(LevelAction.DELETE, updates.get(0).getAction());
+            assertEquals(LevelAction.DELETE, updates.get(1).getAction());
+            assertEquals(LevelAction.UPDATE, updates.get(2).getAction());
+            assertEquals(5, updates.get(2).getQuantity());
+            assertFalse(orderBook.getDepth().hasChanges());
+        }
+
+        @Test
+        @DisplayName("Level Added And Removed Within One Batch Is Not Reported")
+        void testTransientLevelSkipped() {
+            orderBook.addOrder(createOrder("1", OrderType.LIMIT, OrderSide.BUY, 10, new BigDecimal("10.00"), "user1"));
+            orderBook.addOrder(createOrder("2", OrderType.LIMIT, OrderSide.SELL, 10, new BigDecimal("10.00"), "user2"));
+
+            assertTrue(orderBook.getDepth().drainChanges().isEmpty());
+            assertNull(orderBook.getDepth().getBest(OrderSide.BUY));
+        }
+
+        @Test
+        @DisplayName("Cancel Removes The Remaining Quantity From Its Level")
+        void testCancelReducesLevel() {
+            orderBook.addOrder(createOrder("1", OrderType.LIMIT, OrderSide.BUY, 100, new BigDecimal("10.00"), "user1"));
+            orderBook.addOrder(createOrder("2", OrderType.LIMIT, OrderSide.BUY, 50, new BigDecimal("10.00"), "user2"));
+            orderBook.addOrder(createOrder("3", OrderType.LIMIT, OrderSide.SELL, 30, new BigDecimal("10.00"), "user3"));
+
+            assertNotNull(orderBook.cancelOrder("1"));
+            assertNull(orderBook.cancelOrder("1"));
+            assertEquals(50, orderBook.getDepth().getBest(OrderSide.BUY).getValue());
+            assertEquals(1, orderBook.getBuyOrders().size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Book Statistics Tests")
+    class BookStatisticsTests {
+
+        @Test
+        @DisplayName("Counters Follow Rests, Fills And Stops")
+        void testStatsMaintained() {
+            orderBook.addOrder(createOrder("1", OrderType.LIMIT, OrderSide.BUY, 100, new BigDecimal("10.00"), "user1"));
+            orderBook.addOrder(createOrder("2", OrderType.LIMIT, OrderSide.BUY, 50, new BigDecimal("9.00"), "user2"));
+            orderBook.addOrder(createStopOrder("3", OrderType.STOP_MARKET, OrderSide.SELL, 10, null, new BigDecimal("8.00"), "user3"));
+            orderBook.addOrder(createOrder("4", OrderType.LIMIT, OrderSide.SELL, 40, new BigDecimal("10.00"), "user4"));
+
+            OrderBookStats stats = orderBook.getStats();
+            assertEquals(2, stats.getBuyOrders());
+            assertEquals(0, stats.getSellOrders());
+            assertEquals(2, stats.getBidLevels());
+            assertEquals(1, stats.getStopOrders());
+            assertEquals(1, stats.getTradesExecuted());
+            assertEquals(60 * 10.00 + 50 * 9.00, stats.getBidNotional(), 1e-9);
+        }
+
+        @Test
+        @DisplayName("Copy For Dump Is Detached From Live Orders")
+        void testCopyOrdersDetached() {
+            Order buy = createOrder("1", OrderType.LIMIT, OrderSide.BUY, 100, new BigDecimal("10.00"), "user1");
+            orderBook.addOrder(buy);
+            List<Order> copied = orderBook.copyOrders().get("BUY");
+            orderBook.addOrder(createOrder("2", OrderType.LIMIT, OrderSide.SELL, 40, new BigDecimal("10.00"), "user2"));
+
+            assertEquals(1, copied.size());
+            assertEquals(0, copied.get(0).getFilledQuantity());
+            assertEquals(40, buy.getFilledQuantity());
+        }
+    }
 }
@@ -0,0 +1,50 @@
+package com.example.ExchangeService.ExchangeService.utils;
+
+import com.example.ExchangeService.ExchangeService.entities.Order;
+import com.example.ExchangeService.ExchangeService.enums.OrderSide;
+import com.example.ExchangeService.ExchangeService.enums.OrderType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PricesTest {
+
+    @Test
+    @DisplayName("Fixed-Point Round Trip Keeps Value And At Least Two Decimals")
+    void testRoundTrip() {
+        assertEquals(1_005_000_000L, Prices.toRaw(new BigDecimal("10.05")));
+        assertEquals(new BigDecimal("10.05"), Prices.toBigDecimal(Prices.toRaw(new BigDecimal("10.050"))));
+        assertEquals(new BigDecimal("10.00"), Prices.toBigDecimal(Prices.toRaw(BigDecimal.TEN)));
+        assertEquals(new BigDecimal("0.125"), Prices.toBigDecimal(Prices.toRaw(new BigDecimal("0.125"))));
+        assertEquals(Prices.NONE, Prices.toRaw(null));
+        assertNull(Prices.toBigDecimal(Prices.NONE));
+    }
+
+    @Test
+    @DisplayName("Order Edge Accessors Convert To And From The Compact Fields")
+    void testOrderAccessors() {
+        Instant now = Instant.parse("2026-01-02T03:04:05.123456789Z");
+        Order order = Order.builder()
+                .orderId("42")
+                .userId("user1")
+                .instrumentId("AAPL")
+                .orderSide(OrderSide.BUY)
+                .orderType(OrderType.LIMIT)
+                .quantity(100)
+                .price(new BigDecimal("150.25"))
+                .timeStamp(now)
+                .build();
+
+        assertEquals(42L, order.getId());
+        assertEquals("42", order.getOrderId());
+        assertEquals(15_025_000_000L, order.getRawPrice());
+        assertNull(order.getStopPrice());
+        assertEquals(now, order.getTimeStamp());
+        assertNull(order.getExpiryTime());
+        assertEquals(order, order.toBuilder().build());
+    }
+}
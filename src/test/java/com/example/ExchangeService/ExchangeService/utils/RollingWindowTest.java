@@ -0,0 +1,49 @@
+package com.example.ExchangeService.ExchangeService.utils;
+
+import com.example.ExchangeService.ExchangeService.events.Ticker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingWindowTest {
+
+    // 10 second window in 10 one-second buckets
+    private final RollingWindow window = new RollingWindow("AAPL", 10_000, 10);
+
+    @Test
+    @DisplayName("Ticker Aggregates Trades In The Window")
+    void testAggregates() {
+        window.onTrade(1_000, 10.0, 100);
+        window.onTrade(2_000, 12.0, 100);
+        window.onTrade(3_000, 11.0, 200);
+
+        Ticker ticker = window.snapshot(3_500);
+        assertEquals(11.0, ticker.getLastPrice());
+        assertEquals(10.0, ticker.getOpen());
+        assertEquals(12.0, ticker.getHigh());
+        assertEquals(10.0, ticker.getLow());
+        assertEquals(11.0, ticker.getVwap(), 1e-9);
+        assertEquals(1.0, ticker.getChange(), 1e-9);
+        assertEquals(400, ticker.getVolume());
+        assertEquals(3, ticker.getTrades());
+    }
+
+    @Test
+    @DisplayName("Old Buckets Expire As The Window Slides")
+    void testExpiry() {
+        window.onTrade(1_000, 10.0, 100);
+        window.onTrade(9_000, 20.0, 50);
+
+        Ticker ticker = window.snapshot(11_000);
+        assertEquals(50, ticker.getVolume());
+        assertEquals(1, ticker.getTrades());
+        assertEquals(20.0, ticker.getOpen());
+        assertEquals(20.0, ticker.getLow());
+
+        Ticker empty = window.snapshot(100_000);
+        assertEquals(0, empty.getVolume());
+        assertNull(empty.getVwap());
+        assertEquals(20.0, empty.getLastPrice());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.ExchangeService.ExchangeService.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TapeSegmentTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Scan Filters By Symbol And Time Across Blocks")
+    void testScan() throws IOException {
+        try (TapeSegment segment = TapeSegment.open(dir.resolve("t.tape"), 10_000)) {
+            for (int i = 0; i < 9_000; i++) {
+                segment.append(1_000 + i, i % 3, i, i + 1, i % 2 == 0, 10.0 + i, 5);
+            }
+
+            List<Long> orderIds = new ArrayList<>();
+            segment.scan(1, 5_000, 5_010, (ts, symbol, orderId, counter, buy, price, qty) -> orderIds.add(orderId));
+
+            assertEquals(List.of(4_000L, 4_003L, 4_006L, 4_009L), orderIds);
+        }
+    }
+
+    @Test
+    @DisplayName("Reopened Segment Keeps Its Records And Capacity")
+    void testReopen() throws IOException {
+        Path file = dir.resolve("t.tape");
+        try (TapeSegment segment = TapeSegment.open(file, 2)) {
+            segment.append(1, 0, 1, 2, true, 10.5, 100);
+        }
+        try (TapeSegment segment = TapeSegment.open(file, 999)) {
+            assertEquals(1, segment.getCount());
+            segment.append(2, 0, 3, 4, false, 11.0, 50);
+            assertTrue(segment.isFull());
+
+            double[] prices = new double[2];
+            int[] seen = {0};
+            segment.scan(-1, 0, Long.MAX_VALUE, (ts, symbol, orderId, counter, buy, price, qty) -> {
+                prices[seen[0]++] = price;
+                return true;
+            });
+            assertArrayEquals(new double[]{10.5, 11.0}, prices);
+        }
+    }
+
+    @Test
+    @DisplayName("Closed Segment Scans The Same From The File")
+    void testScanFile() throws IOException {
+        Path file = dir.resolve("t.tape");
+        try (TapeSegment segment = TapeSegment.open(file, 10_000)) {
+            for (int i = 0; i < 9_000; i++) {
+                segment.append(1_000 + i, i % 3, i, i + 1, i % 2 == 0, 10.0 + i, 5);
+            }
+        }
+
+        List<Long> orderIds = new ArrayList<>();
+        assertTrue(TapeSegment.scan(file, 1, 5_000, 5_010, (ts, symbol, orderId, counter, buy, price, qty) -> orderIds.add(orderId)));
+        assertEquals(List.of(4_000L, 4_003L, 4_006L, 4_009L), orderIds);
+
+        List<Long> firstTwo = new ArrayList<>();
+        assertFalse(TapeSegment.scan(file, -1, 0, Long.MAX_VALUE, (ts, symbol, orderId, counter, buy, price, qty) -> {
+            firstTwo.add(orderId);
+            return firstTwo.size() < 2;
+        }));
+        assertEquals(List.of(0L, 1L), firstTwo);
+    }
+}